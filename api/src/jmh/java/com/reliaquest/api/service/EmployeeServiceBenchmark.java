@@ -0,0 +1,108 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.analytics.SalaryAnalytics;
+import com.reliaquest.api.cache.EmployeeIdCache;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.RequestHedger;
+import com.reliaquest.api.client.UpstreamGuard;
+import com.reliaquest.api.config.BatchLookup;
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.config.EmployeeMock;
+import com.reliaquest.api.config.EmployeeQueryLimits;
+import com.reliaquest.api.config.NameSearchLimits;
+import com.reliaquest.api.config.UpstreamHedging;
+import com.reliaquest.api.config.UpstreamResilience;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.query.EmployeeQueryEngine;
+import com.reliaquest.api.search.NameSearchIndex;
+import com.reliaquest.api.model.response.EmployeeListApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the service's read paths over a warm employee list, with the upstream replaced by a canned response. Run
+ * with {@code ./gradlew :api:jmh}; {@code gc.alloc.rate.norm} is the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"50", "1000"})
+    public int employees;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        List<Employee> data = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            data.add(new Employee(
+                    UUID.randomUUID(), "Employee " + i, 30000 + i, 20 + i % 50, "Engineer", "employee" + i + "@company.com"));
+        }
+        EmployeeListApiResponse response = new EmployeeListApiResponse();
+        response.setData(data);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeClient employeeClient = new EmployeeClient(
+                new RestTemplate(),
+                new EmployeeMock(),
+                meterRegistry,
+                new UpstreamGuard(new UpstreamResilience(), meterRegistry),
+                new RequestHedger(new UpstreamHedging(), meterRegistry)) {
+            @Override
+            public EmployeeListApiResponse getEmployees() {
+                return response;
+            }
+        };
+        EmployeeCache employeeCache = new EmployeeCache();
+        employeeCache.setFreshFor(Duration.ofDays(1));
+        EmployeeIdCache employeeIdCache = new EmployeeIdCache(employeeCache, meterRegistry);
+        employeeService = new EmployeeServiceImpl(
+                employeeClient,
+                new EmployeeSnapshotCache(employeeClient, employeeIdCache, employeeCache, meterRegistry),
+                employeeIdCache,
+                new BatchLookup(),
+                new EmployeeQueryEngine(new EmployeeQueryLimits(), meterRegistry),
+                new SalaryAnalytics(meterRegistry),
+                new NameSearchIndex(new NameSearchLimits(), meterRegistry),
+                event -> { });
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNameSearch() {
+        return employeeService.getEmployeesByNameSearch("employee 1");
+    }
+
+    @Benchmark
+    public List<Employee> searchEmployeesByPrefix() {
+        return employeeService.searchEmployees("employee 1", "prefix", null, 10);
+    }
+
+    @Benchmark
+    public List<Employee> searchEmployeesFuzzy() {
+        return employeeService.searchEmployees("emplyee 12", "fuzzy", null, 10);
+    }
+}
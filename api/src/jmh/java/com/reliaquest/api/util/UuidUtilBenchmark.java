@@ -0,0 +1,49 @@
+package com.reliaquest.api.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating and parsing a path id the old way (validate with {@link UUID#fromString(String)} and catch,
+ * then parse again) with {@link UuidUtil#parseUUID(CharSequence)}. Run with {@code ./gradlew :api:jmh}; the gc
+ * profiler reports allocation per operation as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UuidUtilBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private String id;
+
+    @Setup
+    public void setUp() {
+        id = input.equals("valid") ? UUID.randomUUID().toString() : "wp-login.php";
+    }
+
+    @Benchmark
+    public UUID validateThenFromString() {
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        return UUID.fromString(id);
+    }
+
+    @Benchmark
+    public UUID parseUUID() {
+        return UuidUtil.parseUUID(id);
+    }
+}
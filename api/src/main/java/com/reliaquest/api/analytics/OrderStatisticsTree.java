@@ -0,0 +1,152 @@
+package com.reliaquest.api.analytics;
+
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Multiset of ints as a treap whose nodes carry the number of values beneath them, so adding, removing and finding
+ * the value of a given rank all take O(log n) expected time. Equal values share a node. Not thread-safe.
+ */
+final class OrderStatisticsTree {
+    private final SplittableRandom priorities = new SplittableRandom();
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void add(int value) {
+        root = insert(root, value);
+    }
+
+    /**
+     * Removes one occurrence of {@code value}, returning whether there was one.
+     */
+    boolean remove(int value) {
+        int before = size(root);
+        root = delete(root, value);
+        return size(root) < before;
+    }
+
+    /**
+     * The value at {@code rank} in ascending order, counting from zero.
+     */
+    int select(int rank) {
+        if (rank < 0 || rank >= size(root)) {
+            throw new NoSuchElementException("No value of rank " + rank + " among " + size(root));
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank < leftSize + node.count) {
+                return node.value;
+            } else {
+                rank -= leftSize + node.count;
+                node = node.right;
+            }
+        }
+    }
+
+    private Node insert(Node node, int value) {
+        if (node == null) {
+            return new Node(value, priorities.nextInt());
+        }
+        if (value == node.value) {
+            node.count++;
+        } else if (value < node.value) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, int value) {
+        if (node == null) {
+            return null;
+        }
+        if (value < node.value) {
+            node.left = delete(node.left, value);
+        } else if (value > node.value) {
+            node.right = delete(node.right, value);
+        } else if (node.count > 1) {
+            node.count--;
+        } else {
+            return unlink(node);
+        }
+        update(node);
+        return node;
+    }
+
+    /*
+     * Rotates the node down below its higher-priority child until it is a leaf or has one child, then drops it.
+     */
+    private static Node unlink(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node top;
+        if (node.left.priority > node.right.priority) {
+            top = rotateRight(node);
+            top.right = unlink(node);
+        } else {
+            top = rotateLeft(node);
+            top.left = unlink(node);
+        }
+        update(top);
+        return top;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + node.count + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final int value;
+        private final int priority;
+        private int count = 1;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(int value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.analytics;
+
+/**
+ * Count, running total and order statistics of a group of salaries, kept up to date one salary at a time.
+ */
+final class SalaryAggregate {
+    private final OrderStatisticsTree salaries = new OrderStatisticsTree();
+
+    private long total;
+
+    void add(int salary) {
+        salaries.add(salary);
+        total += salary;
+    }
+
+    void remove(int salary) {
+        if (salaries.remove(salary)) {
+            total -= salary;
+        }
+    }
+
+    int count() {
+        return salaries.size();
+    }
+
+    long total() {
+        return total;
+    }
+
+    double mean() {
+        return (double) total / salaries.size();
+    }
+
+    int min() {
+        return salaries.select(0);
+    }
+
+    int max() {
+        return salaries.select(salaries.size() - 1);
+    }
+
+    /**
+     * The middle salary, or the mean of the two middle salaries when the count is even.
+     */
+    double median() {
+        int count = salaries.size();
+        if (count % 2 == 1) {
+            return salaries.select(count / 2);
+        }
+        return (salaries.select(count / 2 - 1) + (double) salaries.select(count / 2)) / 2;
+    }
+
+    /**
+     * The nearest-rank percentile: the smallest salary at least {@code percent} percent of salaries are at or below.
+     */
+    int percentile(double percent) {
+        int rank = (int) Math.ceil(percent * salaries.size() / 100);
+        return salaries.select(Math.max(rank, 1) - 1);
+    }
+}
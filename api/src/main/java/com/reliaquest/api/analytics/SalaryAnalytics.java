@@ -0,0 +1,234 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.cache.EmployeeIdDigest;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.SalaryStatistics;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Salary statistics of all employees and of each title, kept current by applying every {@link EmployeeChangeEvent}
+ * instead of rescanning the list: a running total and an {@link OrderStatisticsTree} per group make the count, mean,
+ * minimum, maximum, median and any percentile O(log n). Employees with a salary are also kept ordered by it, so the
+ * top earners are read off the end instead of found by a pass over the list. The aggregates are built from the
+ * employee list on first use, and rebuilt whenever the ids they hold no longer match the list's, which repairs any
+ * missed or duplicated change.
+ */
+@Component
+public class SalaryAnalytics {
+    private static final List<Double> DEFAULT_PERCENTILES = List.of(25.0, 50.0, 75.0, 90.0, 99.0);
+
+    private static final int MAX_PERCENTILES = 20;
+
+    private static final Comparator<Employee> BY_SALARY =
+            Comparator.comparing(Employee::getEmployeeSalary).thenComparing(Employee::getId);
+
+    private final MeterRegistry meterRegistry;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Employees counted in the aggregates, so a change seen twice is applied once. */
+    private Map<UUID, Employee> employees;
+    private SalaryAggregate all;
+    private Map<String, SalaryAggregate> byTitle;
+    private NavigableSet<Employee> bySalary;
+    private final EmployeeIdDigest digest = new EmployeeIdDigest();
+
+    public SalaryAnalytics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        UUID id = event.employee().getId();
+        lock.writeLock().lock();
+        try {
+            if (employees == null || id == null) {
+                return;
+            }
+            if (event.type() == EmployeeChangeEvent.Type.CREATED) {
+                if (!employees.containsKey(id)) {
+                    employees.put(id, event.employee());
+                    add(event.employee());
+                    digest.added(id);
+                }
+            } else {
+                Employee removed = employees.remove(id);
+                if (removed != null) {
+                    remove(removed);
+                    digest.removed(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Statistics of every salary in {@code snapshot}, with the given percentiles (0 to 100) or the default ones.
+     *
+     * @throws IllegalArgumentException when a percentile is outside 0 to 100 or too many are asked for
+     */
+    public SalaryStatistics statistics(EmployeeSnapshot snapshot, List<Double> percentiles) {
+        List<Double> requested = percentiles == null || percentiles.isEmpty() ? DEFAULT_PERCENTILES : percentiles;
+        if (requested.size() > MAX_PERCENTILES) {
+            throw new IllegalArgumentException("At most " + MAX_PERCENTILES + " percentiles can be requested at once");
+        }
+        for (Double percentile : requested) {
+            if (percentile == null || !(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentiles must be between 0 and 100");
+            }
+        }
+
+        synchronise(snapshot);
+        lock.readLock().lock();
+        try {
+            return statistics(all, requested);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Statistics of the salaries of each title in {@code snapshot}, by title.
+     */
+    public Map<String, SalaryStatistics> statisticsByTitle(EmployeeSnapshot snapshot) {
+        synchronise(snapshot);
+        lock.readLock().lock();
+        try {
+            Map<String, SalaryStatistics> statistics = new TreeMap<>();
+            byTitle.forEach((title, aggregate) -> statistics.put(title, statistics(aggregate, List.of())));
+            return statistics;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The highest salary in {@code snapshot}, or -1 when no employee has one.
+     */
+    public int highestSalary(EmployeeSnapshot snapshot) {
+        synchronise(snapshot);
+        lock.readLock().lock();
+        try {
+            return all.count() == 0 ? -1 : all.max();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names of the {@code limit} highest paid employees in {@code snapshot}, lowest salary first.
+     */
+    public List<String> topEarnerNames(EmployeeSnapshot snapshot, int limit) {
+        synchronise(snapshot);
+        lock.readLock().lock();
+        try {
+            List<String> names = new ArrayList<>(Math.min(limit, bySalary.size()));
+            Iterator<Employee> highestFirst = bySalary.descendingIterator();
+            while (names.size() < limit && highestFirst.hasNext()) {
+                names.add(highestFirst.next().getEmployeeName());
+            }
+            Collections.reverse(names);
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static SalaryStatistics statistics(SalaryAggregate aggregate, List<Double> percentiles) {
+        if (aggregate.count() == 0) {
+            return new SalaryStatistics(0, 0, null, null, null, null, percentiles.isEmpty() ? null : Map.of());
+        }
+        Map<String, Integer> values = null;
+        if (!percentiles.isEmpty()) {
+            values = new LinkedHashMap<>();
+            for (double percentile : percentiles) {
+                values.put("p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+                        aggregate.percentile(percentile));
+            }
+        }
+        return new SalaryStatistics(aggregate.count(), aggregate.total(), aggregate.min(), aggregate.max(),
+                aggregate.mean(), aggregate.median(), values);
+    }
+
+    /*
+     * Checked against the list's ids rather than keyed on its version, since versions also change when nothing changed
+     * upstream; the ids of each version are compared once.
+     */
+    private void synchronise(EmployeeSnapshot snapshot) {
+        lock.readLock().lock();
+        try {
+            if (employees != null && digest.matches(snapshot)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (employees != null && digest.matches(snapshot)) {
+                return;
+            }
+            employees = new HashMap<>();
+            all = new SalaryAggregate();
+            byTitle = new HashMap<>();
+            bySalary = new TreeSet<>(BY_SALARY);
+            for (Employee employee : snapshot.employees()) {
+                if (employee.getId() != null && employees.putIfAbsent(employee.getId(), employee) == null) {
+                    add(employee);
+                }
+            }
+            digest.rebuilt(snapshot);
+            meterRegistry.counter("employee.salary.analytics.rebuilds").increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Employee employee) {
+        if (employee.getEmployeeSalary() == null) {
+            return;
+        }
+        all.add(employee.getEmployeeSalary());
+        bySalary.add(employee);
+        if (employee.getEmployeeTitle() != null) {
+            byTitle.computeIfAbsent(employee.getEmployeeTitle(), title -> new SalaryAggregate())
+                    .add(employee.getEmployeeSalary());
+        }
+    }
+
+    private void remove(Employee employee) {
+        if (employee.getEmployeeSalary() == null) {
+            return;
+        }
+        all.remove(employee.getEmployeeSalary());
+        bySalary.remove(employee);
+        SalaryAggregate title = employee.getEmployeeTitle() == null ? null : byTitle.get(employee.getEmployeeTitle());
+        if (title != null) {
+            title.remove(employee.getEmployeeSalary());
+            if (title.count() == 0) {
+                byTitle.remove(employee.getEmployeeTitle());
+            }
+        }
+    }
+}
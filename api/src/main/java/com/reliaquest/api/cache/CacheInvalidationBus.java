@@ -0,0 +1,178 @@
+package com.reliaquest.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the caches of several api instances coherent. Each create or delete made by this instance is sent as one UDP
+ * datagram to every peer, which applies it to its own list snapshot and id cache straight away instead of serving the
+ * old list until its next refresh. Datagrams are numbered per sending instance; a peer that sees a gap, from a lost
+ * or delayed datagram, refreshes the whole list in the background instead, and drops a delayed datagram that arrives
+ * after a later one since that refresh covers it. Datagrams from this instance itself are ignored, so all instances can
+ * share one peer list.
+ *
+ * <p>Datagrams are not authenticated: only their source address is checked against the peer list, and any other
+ * sender is dropped. A UDP source address can be forged, so the bus must only be reachable from a network where every
+ * host able to send to it is trusted, such as loopback or a private network between the instances.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+    private static final String MESSAGES_METRIC = "employee.cache.invalidations";
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+
+    private final EmployeeCache.Invalidation settings;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeIdCache employeeIdCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> peerSequences = new ConcurrentHashMap<>();
+    private final List<InetSocketAddress> peers = new ArrayList<>();
+    private final Set<InetSocketAddress> trustedSources = new HashSet<>();
+
+    private volatile DatagramChannel channel;
+
+    public CacheInvalidationBus(
+            EmployeeCache employeeCache,
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeIdCache employeeIdCache,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.settings = employeeCache.getInvalidation();
+        this.snapshotCache = snapshotCache;
+        this.employeeIdCache = employeeIdCache;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        for (String peer : settings.getPeers()) {
+            int separator = peer.lastIndexOf(':');
+            peers.add(new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1))));
+        }
+        trustedSources.addAll(peers);
+        channel = DatagramChannel.open().bind(new InetSocketAddress(settings.getBindAddress(), settings.getPort()));
+        Thread receiver = new Thread(this::receive, "employee-cache-invalidation");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Cache invalidations listening on {} for {} peers", channel.getLocalAddress(), peers.size());
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Sends this instance's own writes to the peers. Delivery is best effort; a lost datagram shows up as a gap at the
+     * peer, or failing that, is corrected by the peer's next refresh.
+     */
+    @EventListener
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        DatagramChannel current = channel;
+        if (current == null || event.origin() != EmployeeChangeEvent.Origin.LOCAL) {
+            return;
+        }
+        try {
+            ByteBuffer message = ByteBuffer.wrap(objectMapper.writeValueAsBytes(
+                    new Invalidation(instanceId, sequence.incrementAndGet(), event.type(), event.employee())));
+            for (InetSocketAddress peer : peers) {
+                current.send(message.duplicate(), peer);
+            }
+            meterRegistry.counter(MESSAGES_METRIC, "outcome", "sent").increment();
+        } catch (IOException ex) {
+            log.warn("Sending cache invalidation failed: {}", ex.getMessage());
+        }
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_SIZE);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                SocketAddress source = channel.receive(buffer);
+                if (!trustedSources.contains(source)) {
+                    meterRegistry.counter(MESSAGES_METRIC, "outcome", "untrusted").increment();
+                    log.debug("Dropping cache invalidation from {}, which is not a peer", source);
+                    continue;
+                }
+                apply(objectMapper.readValue(buffer.array(), 0, buffer.position(), Invalidation.class));
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Ignoring cache invalidation: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void apply(Invalidation invalidation) {
+        if (instanceId.equals(invalidation.instance()) || invalidation.employee() == null) {
+            return;
+        }
+        Long previous = peerSequences.get(invalidation.instance());
+        if (previous != null && invalidation.sequence() <= previous) {
+            meterRegistry.counter(MESSAGES_METRIC, "outcome", "reordered").increment();
+            return;
+        }
+        peerSequences.put(invalidation.instance(), invalidation.sequence());
+        Employee employee = invalidation.employee();
+        switch (invalidation.type()) {
+            case CREATED -> {
+                snapshotCache.applyCreated(employee);
+                employeeIdCache.put(employee);
+            }
+            case DELETED -> {
+                snapshotCache.applyDeleted(employee.getId());
+                employeeIdCache.invalidate(employee.getId());
+            }
+        }
+        meterRegistry.counter(MESSAGES_METRIC, "outcome", "applied").increment();
+        eventPublisher.publishEvent(new EmployeeChangeEvent(invalidation.type(), employee, EmployeeChangeEvent.Origin.PEER));
+
+        if (invalidation.sequence() != (previous == null ? 1 : previous + 1)) {
+            meterRegistry.counter(MESSAGES_METRIC, "outcome", "gap").increment();
+            log.debug("Missed cache invalidations from {}, refreshing employee list", invalidation.instance());
+            snapshotCache.requestRefresh();
+        }
+    }
+
+    private record Invalidation(String instance, long sequence, EmployeeChangeEvent.Type type, Employee employee) {
+    }
+}
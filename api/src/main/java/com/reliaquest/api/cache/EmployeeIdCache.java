@@ -0,0 +1,95 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.model.response.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of employees by id. Caffeine's W-TinyLFU eviction keeps frequently requested ids resident even
+ * when a large list fetch streams many one-off ids through the cache. Ids the upstream answered with a 404 are cached
+ * as empty for the shorter {@code notFoundTtl}.
+ */
+@Component
+public class EmployeeIdCache {
+    private final Cache<UUID, Optional<Employee>> cache;
+
+    @Autowired
+    public EmployeeIdCache(EmployeeCache employeeCache, MeterRegistry meterRegistry) {
+        this(employeeCache, meterRegistry, Ticker.systemTicker());
+    }
+
+    EmployeeIdCache(EmployeeCache employeeCache, MeterRegistry meterRegistry, Ticker ticker) {
+        EmployeeCache.ById byId = employeeCache.getById();
+        long ttlNanos = byId.getTtl().toNanos();
+        long notFoundTtlNanos = byId.getNotFoundTtl().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(byId.getMaximumSize())
+                .expireAfter(new Expiry<UUID, Optional<Employee>>() {
+                    @Override
+                    public long expireAfterCreate(UUID id, Optional<Employee> employee, long currentTime) {
+                        return employee.isPresent() ? ttlNanos : notFoundTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            UUID id, Optional<Employee> employee, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, employee, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            UUID id, Optional<Employee> employee, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employee.id");
+    }
+
+    /**
+     * Returns the cached lookup for {@code id}, calling {@code loader} at most once per id across concurrent callers
+     * when there is none. An empty result means the employee does not exist.
+     */
+    public Optional<Employee> get(UUID id, Function<UUID, Optional<Employee>> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Cached lookups for whichever of {@code ids} are present, without loading the rest.
+     */
+    public Map<UUID, Optional<Employee>> getAllPresent(Collection<UUID> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    public void put(Employee employee) {
+        if (employee.getId() != null) {
+            cache.put(employee.getId(), Optional.of(employee));
+        }
+    }
+
+    public void putAll(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            put(employee);
+        }
+    }
+
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.response.Employee;
+
+import java.util.UUID;
+
+/**
+ * Count and order-independent checksum of the employee ids held by data derived from an {@link EmployeeSnapshot} and
+ * kept current by change events. Comparing it with a later snapshot tells whether the derived data still holds that
+ * snapshot's employees, which a count alone misses when one employee has replaced another. The ids of a snapshot
+ * version are summed once, so comparing with a version already seen is O(1) however often the derived data changes.
+ *
+ * <p>Null ids are skipped, and an id listed twice in a snapshot counts twice here as well, so data built from a
+ * snapshot with duplicates still matches it. The owner guards every method with its own lock; {@link #matches} only
+ * needs it for reading.
+ */
+public final class EmployeeIdDigest {
+    private int count;
+    private long checksum;
+    private volatile Ids seen;
+
+    /**
+     * Whether the derived data holds the employees of {@code snapshot}.
+     */
+    public boolean matches(EmployeeSnapshot snapshot) {
+        Ids ids = ids(snapshot);
+        return ids.count() == count && ids.checksum() == checksum;
+    }
+
+    /**
+     * Records that the derived data has just been rebuilt from {@code snapshot}.
+     */
+    public void rebuilt(EmployeeSnapshot snapshot) {
+        Ids ids = ids(snapshot);
+        count = ids.count();
+        checksum = ids.checksum();
+    }
+
+    public void added(UUID id) {
+        count++;
+        checksum += hash(id);
+    }
+
+    public void removed(UUID id) {
+        count--;
+        checksum -= hash(id);
+    }
+
+    /*
+     * The digest of the snapshot's own ids, summed on the first call for its version. Readers racing on a new version
+     * may each sum it; they reach the same result.
+     */
+    private Ids ids(EmployeeSnapshot snapshot) {
+        Ids ids = seen;
+        if (ids != null && ids.version() == snapshot.version()) {
+            return ids;
+        }
+        int snapshotCount = 0;
+        long snapshotChecksum = 0;
+        for (Employee employee : snapshot.employees()) {
+            if (employee.getId() != null) {
+                snapshotCount++;
+                snapshotChecksum += hash(employee.getId());
+            }
+        }
+        ids = new Ids(snapshot.version(), snapshotCount, snapshotChecksum);
+        seen = ids;
+        return ids;
+    }
+
+    /*
+     * Spreads every bit of the id, so that summing hashes does not cancel out structure shared by random UUIDs.
+     */
+    static long hash(UUID id) {
+        long hash = id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32);
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private record Ids(long version, int count, long checksum) {
+    }
+}
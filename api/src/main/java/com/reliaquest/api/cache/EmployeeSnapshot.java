@@ -0,0 +1,13 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.response.Employee;
+
+import java.util.List;
+
+/**
+ * An immutable copy of the upstream employee list. {@code version} increases whenever a refresh or local write changes
+ * the list, and only then, so derived data can be keyed on it; {@code fetchedAtNanos} is the {@link System#nanoTime()}
+ * of the upstream fetch.
+ */
+public record EmployeeSnapshot(List<Employee> employees, long version, long fetchedAtNanos) {
+}
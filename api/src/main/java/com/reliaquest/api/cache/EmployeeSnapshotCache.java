@@ -0,0 +1,386 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.model.response.EmployeeListApiResponse;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Stale-while-revalidate cache of the upstream employee list. A snapshot younger than {@code freshFor} is served as
+ * is; an older one is still served immediately, marked stale, while a single background refresh runs. Only when there
+ * is no snapshot or it is older than {@code maxStale} does a request wait on the upstream, so an outage or a 429 window
+ * shorter than {@code maxStale} is invisible to callers apart from the staleness headers.
+ *
+ * <p>With prefetch enabled, {@link EmployeeSnapshotRefresher} keeps the snapshot current and requests never trigger
+ * refreshes themselves.
+ *
+ * <p>Refreshes are serialised, so an older fetch never replaces a newer one, and creates and deletes applied locally
+ * while a fetch is in flight are replayed onto its result, so a fetch that started before a write cannot undo it.
+ *
+ * <p>Each refresh is compared with the snapshot it replaces, and employees that appeared or disappeared upstream are
+ * published as {@link EmployeeChangeEvent}s with origin {@code UPSTREAM}.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotCache implements ApplicationEventPublisherAware {
+    /** Request attribute holding the {@link Duration} since the served snapshot was fetched. */
+    public static final String AGE_ATTRIBUTE = EmployeeSnapshotCache.class.getName() + ".age";
+
+    /** Request attribute set to {@link Boolean#TRUE} when the served snapshot was past {@code freshFor}. */
+    public static final String STALE_ATTRIBUTE = EmployeeSnapshotCache.class.getName() + ".stale";
+
+    /** Request attribute holding the {@link EmployeeSnapshot#version()} most recently served to the request. */
+    public static final String VERSION_ATTRIBUTE = EmployeeSnapshotCache.class.getName() + ".version";
+
+    private static final String REQUESTS_METRIC = "employee.snapshot.requests";
+    private static final String REFRESHES_METRIC = "employee.snapshot.refreshes";
+
+    private final EmployeeClient employeeClient;
+    private final EmployeeIdCache employeeIdCache;
+    private final EmployeeCache employeeCache;
+    private final MeterRegistry meterRegistry;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+    private final Object loadLock = new Object();
+
+    /* Guards every change of the snapshot, so local writes and installing a refresh are ordered. */
+    private final Object writeLock = new Object();
+
+    /* Local writes applied since the in-flight fetch started, guarded by writeLock; null when none is in flight. */
+    private List<LocalWrite> writesDuringFetch;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            EmployeeClient employeeClient,
+            EmployeeIdCache employeeIdCache,
+            EmployeeCache employeeCache,
+            MeterRegistry meterRegistry
+    ) {
+        this(employeeClient, employeeIdCache, employeeCache, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }), System::nanoTime);
+    }
+
+    EmployeeSnapshotCache(
+            EmployeeClient employeeClient,
+            EmployeeIdCache employeeIdCache,
+            EmployeeCache employeeCache,
+            MeterRegistry meterRegistry,
+            Executor refreshExecutor,
+            LongSupplier nanoClock
+    ) {
+        this.employeeClient = employeeClient;
+        this.employeeIdCache = employeeIdCache;
+        this.employeeCache = employeeCache;
+        this.meterRegistry = meterRegistry;
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("employee.snapshot.age", this, cache -> cache.ageSeconds())
+                .description("Seconds since the cached employee list was fetched from the mock server")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Returns the current snapshot, loading it from the upstream only when none is servable.
+     */
+    public EmployeeSnapshot get() {
+        EmployeeSnapshot current = snapshot.get();
+        if (current != null) {
+            long age = nanoClock.getAsLong() - current.fetchedAtNanos();
+            if (age < employeeCache.getFreshFor().toNanos()) {
+                return served(current, age, false, "fresh");
+            }
+            if (age < employeeCache.getMaxStale().toNanos()) {
+                if (!employeeCache.getPrefetch().isEnabled()) {
+                    refreshInBackground();
+                }
+                return served(current, age, true, "stale");
+            }
+        }
+
+        EmployeeSnapshot loaded = loadBlocking(current);
+        return served(loaded, nanoClock.getAsLong() - loaded.fetchedAtNanos(), false, "miss");
+    }
+
+    /**
+     * Whether a snapshot has been loaded since startup.
+     */
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * The current snapshot without loading or recording it, or {@code null} before the first load.
+     */
+    public EmployeeSnapshot peek() {
+        return snapshot.get();
+    }
+
+    /**
+     * Adds an employee the upstream just created so readers see it before the next refresh. Does nothing when the
+     * snapshot already has it.
+     */
+    public void applyCreated(Employee employee) {
+        synchronized (writeLock) {
+            if (writesDuringFetch != null) {
+                writesDuringFetch.add(new LocalWrite(employee, null));
+            }
+            EmployeeSnapshot current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            List<Employee> employees = LocalWrite.created(current.employees(), employee);
+            if (employees != current.employees()) {
+                snapshot.set(new EmployeeSnapshot(employees, versions.incrementAndGet(), current.fetchedAtNanos()));
+            }
+        }
+    }
+
+    /**
+     * Drops an employee the upstream just deleted so readers stop seeing it before the next refresh.
+     */
+    public void applyDeleted(UUID id) {
+        synchronized (writeLock) {
+            if (writesDuringFetch != null) {
+                writesDuringFetch.add(new LocalWrite(null, id));
+            }
+            EmployeeSnapshot current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            List<Employee> employees = LocalWrite.deleted(current.employees(), id);
+            if (employees != current.employees()) {
+                snapshot.set(new EmployeeSnapshot(employees, versions.incrementAndGet(), current.fetchedAtNanos()));
+            }
+        }
+    }
+
+    /**
+     * Refreshes on the refresh executor instead of the caller's thread. A refresh already running may have fetched the
+     * list before whatever prompted this request, so one more follows it; requests made meanwhile share that one.
+     */
+    public void requestRefresh() {
+        refreshRequested.set(true);
+        refreshInBackground();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /*
+     * Serialises cold loads so a burst of requests against an empty or expired cache costs one upstream call, not one
+     * per request, which matters when the upstream is rate limiting.
+     */
+    private EmployeeSnapshot loadBlocking(EmployeeSnapshot expired) {
+        synchronized (loadLock) {
+            EmployeeSnapshot current = snapshot.get();
+            if (current != null && current != expired
+                    && nanoClock.getAsLong() - current.fetchedAtNanos() < employeeCache.getMaxStale().toNanos()) {
+                return current;
+            }
+            return refresh();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshRequested.set(false);
+                    refresh();
+                } catch (RuntimeException ex) {
+                    log.warn("Background refresh of employee list failed, serving cached copy: {}", ex.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+                if (refreshRequested.get()) {
+                    refreshInBackground();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Fetches the employee list from the upstream and makes it the current snapshot, after replaying any local writes
+     * made while it was being fetched. Waits for a refresh already in progress to finish first.
+     */
+    public EmployeeSnapshot refresh() {
+        synchronized (loadLock) {
+            synchronized (writeLock) {
+                writesDuringFetch = new ArrayList<>();
+            }
+            try {
+                return install(nanoClock.getAsLong(), fetch());
+            } finally {
+                synchronized (writeLock) {
+                    writesDuringFetch = null;
+                }
+            }
+        }
+    }
+
+    private List<Employee> fetch() {
+        EmployeeListApiResponse response;
+        try {
+            response = employeeClient.getEmployees();
+        } catch (RuntimeException ex) {
+            meterRegistry.counter(REFRESHES_METRIC, "outcome", "failure").increment();
+            throw ex;
+        }
+        meterRegistry.counter(REFRESHES_METRIC, "outcome", "success").increment();
+
+        if (response == null || response.getData() == null) {
+            log.warn("No employees found.");
+            return List.of();
+        }
+        log.debug("Successfully fetched {} employees", response.getData().size());
+        return List.copyOf(response.getData());
+    }
+
+    private EmployeeSnapshot install(long fetchedAt, List<Employee> fetched) {
+        EmployeeSnapshot previous;
+        EmployeeSnapshot refreshed;
+        synchronized (writeLock) {
+            List<Employee> employees = fetched;
+            for (LocalWrite write : writesDuringFetch) {
+                employees = write.applyTo(employees);
+            }
+            previous = snapshot.get();
+            if (previous != null && employees.equals(previous.employees())) {
+                // an unchanged list keeps its version, so nothing keyed on the version is rebuilt
+                refreshed = new EmployeeSnapshot(previous.employees(), previous.version(), fetchedAt);
+            } else {
+                refreshed = new EmployeeSnapshot(employees, versions.incrementAndGet(), fetchedAt);
+            }
+            snapshot.set(refreshed);
+        }
+        employeeIdCache.putAll(refreshed.employees());
+        if (previous != null && previous.version() != refreshed.version() && eventPublisher != null) {
+            publishChanges(previous.employees(), refreshed.employees());
+        }
+        return refreshed;
+    }
+
+    /*
+     * Changes made through this instance or reported by a peer are already in the previous snapshot, so only changes
+     * made directly against the upstream are published.
+     */
+    private void publishChanges(List<Employee> previous, List<Employee> current) {
+        Map<UUID, Employee> removed = new HashMap<>(previous.size() * 4 / 3 + 1);
+        for (Employee employee : previous) {
+            removed.put(employee.getId(), employee);
+        }
+        List<Employee> added = new ArrayList<>();
+        for (Employee employee : current) {
+            if (removed.remove(employee.getId()) == null) {
+                added.add(employee);
+            }
+        }
+        for (Employee employee : added) {
+            eventPublisher.publishEvent(new EmployeeChangeEvent(
+                    EmployeeChangeEvent.Type.CREATED, employee, EmployeeChangeEvent.Origin.UPSTREAM));
+        }
+        for (Employee employee : removed.values()) {
+            eventPublisher.publishEvent(new EmployeeChangeEvent(
+                    EmployeeChangeEvent.Type.DELETED, employee, EmployeeChangeEvent.Origin.UPSTREAM));
+        }
+    }
+
+    private EmployeeSnapshot served(EmployeeSnapshot served, long ageNanos, boolean stale, String result) {
+        meterRegistry.counter(REQUESTS_METRIC, "result", result).increment();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(AGE_ATTRIBUTE, Duration.ofNanos(Math.max(ageNanos, 0)), RequestAttributes.SCOPE_REQUEST);
+            attributes.setAttribute(VERSION_ATTRIBUTE, served.version(), RequestAttributes.SCOPE_REQUEST);
+            if (stale) {
+                attributes.setAttribute(STALE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        return served;
+    }
+
+    /*
+     * A create (employee set) or delete (deletedId set) applied locally. Applying one is idempotent, so replaying it
+     * onto a fetch that already reflects it changes nothing.
+     */
+    private record LocalWrite(Employee employee, UUID deletedId) {
+
+        List<Employee> applyTo(List<Employee> employees) {
+            return employee != null ? created(employees, employee) : deleted(employees, deletedId);
+        }
+
+        static List<Employee> created(List<Employee> employees, Employee employee) {
+            if (employees.stream().anyMatch(existing -> Objects.equals(existing.getId(), employee.getId()))) {
+                return employees;
+            }
+            List<Employee> updated = new ArrayList<>(employees.size() + 1);
+            updated.addAll(employees);
+            updated.add(employee);
+            return List.copyOf(updated);
+        }
+
+        static List<Employee> deleted(List<Employee> employees, UUID id) {
+            List<Employee> updated = employees.stream()
+                    .filter(employee -> !id.equals(employee.getId()))
+                    .toList();
+            return updated.size() == employees.size() ? employees : updated;
+        }
+    }
+
+    private double ageSeconds() {
+        EmployeeSnapshot current = snapshot.get();
+        return current == null ? Double.NaN : (nanoClock.getAsLong() - current.fetchedAtNanos()) / 1e9;
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.config.EmployeeCache;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the api as not ready until the first employee snapshot has loaded when prefetching is enabled, so traffic
+ * is only routed to an instance that can answer reads from memory.
+ */
+@Component("employeeSnapshot")
+public class EmployeeSnapshotHealthIndicator implements HealthIndicator {
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeCache employeeCache;
+
+    public EmployeeSnapshotHealthIndicator(EmployeeSnapshotCache snapshotCache, EmployeeCache employeeCache) {
+        this.snapshotCache = snapshotCache;
+        this.employeeCache = employeeCache;
+    }
+
+    @Override
+    public Health health() {
+        EmployeeSnapshot snapshot = snapshotCache.peek();
+        if (snapshot == null) {
+            return employeeCache.getPrefetch().isEnabled()
+                    ? Health.outOfService().withDetail("reason", "employee list not loaded yet").build()
+                    : Health.up().build();
+        }
+        return Health.up()
+                .withDetail("employees", snapshot.employees().size())
+                .withDetail("version", snapshot.version())
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.UpstreamRateLimit;
+import com.reliaquest.api.config.EmployeeCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the employee snapshot warm from a background thread so read endpoints never wait on the mock server.
+ *
+ * <p>The delay between refreshes adapts to the upstream: it never spends more than {@code budgetShare} of the
+ * advertised {@code RateLimit-Policy} budget, waits for the budget to reset once it is exhausted, honours any
+ * {@code Retry-After}, and backs off exponentially on failures once warm. Every delay is jittered.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotRefresher {
+    private static final int MAX_BACKOFF_EXPONENT = 6;
+
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeClient employeeClient;
+    private final EmployeeCache.Prefetch prefetch;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-snapshot-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private boolean loaded;
+    private int consecutiveFailures;
+    private volatile Duration lastDelay = Duration.ZERO;
+
+    public EmployeeSnapshotRefresher(
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeClient employeeClient,
+            EmployeeCache employeeCache,
+            MeterRegistry meterRegistry
+    ) {
+        this.snapshotCache = snapshotCache;
+        this.employeeClient = employeeClient;
+        this.prefetch = employeeCache.getPrefetch();
+
+        Gauge.builder("employee.snapshot.prefetch.interval", this, refresher -> refresher.lastDelay.toMillis() / 1e3)
+                .description("Delay until the next scheduled refresh of the employee list")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (prefetch.isEnabled()) {
+            log.info("Prefetching employee list in the background");
+            schedule(Duration.ZERO);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void refresh() {
+        try {
+            EmployeeSnapshot refreshed = snapshotCache.refresh();
+            if (!loaded || consecutiveFailures > 0) {
+                log.info("Employee list loaded with {} employees", refreshed.employees().size());
+            }
+            loaded = true;
+            consecutiveFailures = 0;
+        } catch (RuntimeException ex) {
+            consecutiveFailures++;
+            log.warn("Scheduled refresh of employee list failed ({} in a row): {}", consecutiveFailures, ex.getMessage());
+        } finally {
+            schedule(nextDelay());
+        }
+    }
+
+    private void schedule(Duration delay) {
+        lastDelay = delay;
+        try {
+            scheduler.schedule(this::refresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Employee prefetch stopped");
+        }
+    }
+
+    Duration nextDelay() {
+        long delayNanos = prefetch.getInterval().toNanos();
+
+        UpstreamRateLimit rateLimit = employeeClient.getRateLimit();
+        Duration window = rateLimit.getWindow();
+        if (rateLimit.getLimit() > 0 && !window.isZero() && prefetch.getBudgetShare() > 0) {
+            delayNanos = Math.max(delayNanos, (long) (window.toNanos() / (rateLimit.getLimit() * prefetch.getBudgetShare())));
+        }
+        // until the first load succeeds the instance is not ready, so keep retrying at the base interval
+        if (loaded && consecutiveFailures > 0) {
+            delayNanos <<= Math.min(consecutiveFailures, MAX_BACKOFF_EXPONENT);
+        }
+        delayNanos = Math.min(delayNanos, prefetch.getMaxInterval().toNanos());
+        double random = ThreadLocalRandom.current().nextDouble();
+        delayNanos = (long) (delayNanos * (1 + prefetch.getJitter() * (2 * random - 1)));
+
+        // waiting for the upstream to accept requests again is only ever stretched, so no refresh is wasted on a 429
+        long waitNanos = rateLimit.blockedFor().toNanos();
+        if (rateLimit.getRemaining() == 0) {
+            waitNanos = Math.max(waitNanos, rateLimit.getResetIn().toNanos());
+        }
+        waitNanos = (long) (waitNanos * (1 + prefetch.getJitter() * random));
+
+        return Duration.ofNanos(Math.max(delayNanos, waitNanos));
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.api.cache;
+
+/**
+ * A response body serialised from the employee list at {@code version}. {@code gzip} is the same body compressed, or
+ * {@code null} when the body is too small to be worth compressing.
+ */
+public record SerializedResponse(long version, byte[] json, byte[] gzip) {
+}
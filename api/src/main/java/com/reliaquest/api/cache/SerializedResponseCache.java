@@ -0,0 +1,66 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.config.EmployeeCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The last serialised body of each cacheable endpoint, with its gzip-compressed form. Entries are keyed by the
+ * employee list version they were built from, so a create, delete or refresh that changes the list makes them stale
+ * without any explicit invalidation, while a refresh that finds the same list keeps them. A repeated read of an
+ * unchanged list is a buffer copy with no mapping, serialisation or compression work.
+ */
+@Component
+public class SerializedResponseCache {
+    private static final String REQUESTS_METRIC = "employee.response.cache";
+
+    private final EmployeeCache employeeCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SerializedResponse> responses = new ConcurrentHashMap<>();
+
+    public SerializedResponseCache(EmployeeCache employeeCache, MeterRegistry meterRegistry) {
+        this.employeeCache = employeeCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return employeeCache.getResponses().isEnabled();
+    }
+
+    /**
+     * The cached body of {@code endpoint} if it was built from list {@code version}, otherwise {@code null}.
+     */
+    public SerializedResponse get(String endpoint, long version) {
+        SerializedResponse response = responses.get(endpoint);
+        boolean hit = response != null && response.version() == version;
+        meterRegistry.counter(REQUESTS_METRIC, "endpoint", endpoint, "result", hit ? "hit" : "miss").increment();
+        return hit ? response : null;
+    }
+
+    /**
+     * Caches {@code json} as the body of {@code endpoint} for list {@code version}, unless a newer version is already
+     * cached.
+     */
+    public SerializedResponse put(String endpoint, long version, byte[] json) {
+        byte[] gzip = json.length >= employeeCache.getResponses().getGzipMinSize().toBytes() ? gzip(json) : null;
+        SerializedResponse response = new SerializedResponse(version, json, gzip);
+        return responses.merge(endpoint, response, (current, added) -> added.version() >= current.version() ? added : current);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+}
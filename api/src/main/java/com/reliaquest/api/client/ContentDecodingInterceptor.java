@@ -0,0 +1,79 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.util.ContentCoding;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Asks the mock server for compressed responses and decodes them before the message converters read the body. The JDK
+ * HTTP client does neither on its own.
+ */
+public class ContentDecodingInterceptor implements ClientHttpRequestInterceptor {
+    private final String acceptEncoding;
+
+    public ContentDecodingInterceptor(List<ContentCoding> codings) {
+        this.acceptEncoding = codings.stream().map(ContentCoding::token).collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        ClientHttpResponse response = execution.execute(request, body);
+        ContentCoding coding = ContentCoding.fromToken(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        return coding == null ? response : new DecodedResponse(response, coding);
+    }
+
+    private static final class DecodedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final ContentCoding coding;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        private DecodedResponse(ClientHttpResponse response, ContentCoding coding) {
+            this.response = response;
+            this.coding = coding;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(response.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = coding.decode(response.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
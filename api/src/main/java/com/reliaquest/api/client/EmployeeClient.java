@@ -0,0 +1,377 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeMock;
+import com.reliaquest.api.exception.ResourceNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.request.EmployeeCreation;
+import com.reliaquest.api.model.request.EmployeeDeletion;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.EmployeeApiResponse;
+import com.reliaquest.api.model.response.EmployeeDeleteApiResponse;
+import com.reliaquest.api.model.response.EmployeeListApiResponse;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpClientErrorException.NotFound;
+import org.springframework.web.client.HttpClientErrorException.TooManyRequests;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * HTTP client for the mock employee server. Translates upstream errors into api exceptions, records latency and
+ * rate-limit metrics, and honours the server's {@code Retry-After} by not sending requests while it is in effect.
+ * Every call goes through {@link UpstreamGuard}'s circuit breaker and bulkheads for its server; lookups by id may be
+ * hedged by {@link RequestHedger}.
+ *
+ * <p>When {@code mock.employee.shards} lists several servers, each owns the employees whose ids a {@link ShardRing}
+ * assigns to it: lookups and deletes go to the owning shard, creates are spread round-robin, and the list is fetched
+ * from every shard in parallel and concatenated.
+ *
+ * <p>When {@code mock.employee.replicas} lists read-only followers of a single server, reads are spread round-robin
+ * over the followers, skipping any that are rate limiting, and writes go to {@code uri}. Each server's rate limit is
+ * tracked separately.
+ */
+@Slf4j
+@Component
+public class EmployeeClient {
+    private static final String UPSTREAM_REQUESTS_METRIC = "employee.upstream.requests";
+    private static final String UPSTREAM_RATE_LIMITED_METRIC = "employee.upstream.rate.limited";
+    private static final String UPSTREAM_RETRIES_METRIC = "employee.upstream.retries";
+    private static final String UPSTREAM_SHORT_CIRCUITED_METRIC = "employee.upstream.short.circuited";
+    private static final String TOO_MANY_REQUESTS_MESSAGE =
+            "Too many requests made to the employee service. Please try again later.";
+
+    private final RestTemplate restTemplate;
+
+    private final EmployeeMock employeeMock;
+
+    private final MeterRegistry meterRegistry;
+
+    private final UpstreamGuard upstreamGuard;
+
+    private final RequestHedger requestHedger;
+
+    private final List<Shard> shards;
+
+    private final List<Upstream> upstreams;
+
+    private final ShardRing shardRing;
+
+    private final AtomicInteger nextCreateShard = new AtomicInteger();
+
+    private final ExecutorService scatterExecutor;
+
+    @Autowired
+    public EmployeeClient(
+            RestTemplate restTemplate,
+            EmployeeMock employeeMock,
+            MeterRegistry meterRegistry,
+            UpstreamGuard upstreamGuard,
+            RequestHedger requestHedger
+    ) {
+        this.restTemplate = restTemplate;
+        this.employeeMock = employeeMock;
+        this.meterRegistry = meterRegistry;
+        this.upstreamGuard = upstreamGuard;
+        this.requestHedger = requestHedger;
+
+        List<String> uris = employeeMock.getShards();
+        if (uris == null || uris.isEmpty()) {
+            uris = new ArrayList<>();
+            uris.add(employeeMock.getUri());
+        }
+        List<String> replicas = employeeMock.getReplicas() != null ? employeeMock.getReplicas() : List.of();
+        if (uris.size() > 1 && !replicas.isEmpty()) {
+            throw new IllegalStateException("mock.employee.replicas cannot be combined with mock.employee.shards");
+        }
+
+        List<Upstream> configuredUpstreams = new ArrayList<>();
+        List<Shard> configuredShards = new ArrayList<>(uris.size());
+        for (int i = 0; i < uris.size(); i++) {
+            Upstream writer = new Upstream(configuredUpstreams.size(), uris.get(i), new UpstreamRateLimit());
+            configuredUpstreams.add(writer);
+            List<Upstream> readers = new ArrayList<>();
+            for (String replica : replicas) {
+                Upstream reader = new Upstream(configuredUpstreams.size(), replica, new UpstreamRateLimit());
+                configuredUpstreams.add(reader);
+                readers.add(reader);
+            }
+            configuredShards.add(new Shard(i, writer, readers.isEmpty() ? List.of(writer) : List.copyOf(readers),
+                    new AtomicInteger()));
+        }
+        this.upstreams = List.copyOf(configuredUpstreams);
+        this.shards = List.copyOf(configuredShards);
+        this.shardRing = new ShardRing(shards.size());
+
+        // enough threads for every shard's share of the getAll calls its bulkhead lets through at once
+        AtomicInteger threads = new AtomicInteger();
+        ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+        this.scatterExecutor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(shards.size() * upstreamGuard.maxConcurrentCalls("getAll"), runnable -> {
+                    Thread thread = new Thread(runnable, "employee-scatter-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                contextSnapshots::captureAll);
+    }
+
+    /**
+     * The rate limit of the server closest to rejecting requests: the one blocked longest, else the one with the
+     * fewest requests left. With a single server, that server's rate limit.
+     */
+    public UpstreamRateLimit getRateLimit() {
+        return tightest(upstreams);
+    }
+
+    private static UpstreamRateLimit tightest(List<Upstream> candidates) {
+        UpstreamRateLimit tightest = candidates.get(0).rateLimit();
+        for (Upstream upstream : candidates) {
+            UpstreamRateLimit rateLimit = upstream.rateLimit();
+            int blocked = rateLimit.blockedFor().compareTo(tightest.blockedFor());
+            if (blocked > 0 || blocked == 0 && rateLimit.getRemaining() >= 0
+                    && (tightest.getRemaining() < 0 || rateLimit.getRemaining() < tightest.getRemaining())) {
+                tightest = rateLimit;
+            }
+        }
+        return tightest;
+    }
+
+    public EmployeeListApiResponse getEmployees() {
+        if (shards.size() == 1) {
+            return getEmployees(shards.get(0));
+        }
+
+        // scatter to every shard, failing as soon as any shard fails, and gather in shard order
+        EmployeeListApiResponse[] parts = new EmployeeListApiResponse[shards.size()];
+        ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(scatterExecutor);
+        List<Future<Void>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            futures.add(completion.submit(() -> {
+                parts[shard.id()] = getEmployees(shard);
+                return null;
+            }));
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                completion.take().get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the employee service", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(ex.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        for (EmployeeListApiResponse part : parts) {
+            if (part != null && part.getData() != null) {
+                employees.addAll(part.getData());
+            }
+        }
+        EmployeeListApiResponse merged = new EmployeeListApiResponse();
+        merged.setData(employees);
+        merged.setStatus(parts[0] != null ? parts[0].getStatus() : null);
+        return merged;
+    }
+
+    public EmployeeApiResponse getEmployee(UUID id) {
+        Shard shard = ownerOf(id);
+        // each attempt picks its own reader, so a hedge goes to a different follower than the call it hedges
+        Supplier<EmployeeApiResponse> request = () -> {
+            Upstream reader = shard.reader();
+            return makeHttpRequest(
+                    "getById",
+                    reader,
+                    reader.uri() + "/" + id,
+                    HttpMethod.GET,
+                    null,
+                    EmployeeApiResponse.class,
+                    null,
+                    null
+            );
+        };
+        return requestHedger.isEnabled() ? requestHedger.execute(request, tightest(shard.readers())) : request.get();
+    }
+
+    public EmployeeApiResponse createEmployee(EmployeeCreation employeeInput) {
+        Shard shard = shards.get(Math.floorMod(nextCreateShard.getAndIncrement(), shards.size()));
+        return makeHttpRequest(
+                "create",
+                shard.writer(),
+                shard.writer().uri(),
+                HttpMethod.POST,
+                null,
+                EmployeeApiResponse.class,
+                null,
+                employeeInput
+        );
+    }
+
+    /**
+     * Deletes by name on the shard that owns {@code id}, the id of the employee with that name.
+     */
+    public EmployeeDeleteApiResponse deleteEmployee(UUID id, EmployeeDeletion employeeDeletion) {
+        Shard shard = ownerOf(id);
+        return makeHttpRequest(
+                "delete",
+                shard.writer(),
+                shard.writer().uri(),
+                HttpMethod.DELETE,
+                null,
+                EmployeeDeleteApiResponse.class,
+                null,
+                employeeDeletion
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scatterExecutor.shutdownNow();
+    }
+
+    private EmployeeListApiResponse getEmployees(Shard shard) {
+        Upstream reader = shard.reader();
+        return makeHttpRequest(
+                "getAll",
+                reader,
+                reader.uri(),
+                HttpMethod.GET,
+                null,
+                EmployeeListApiResponse.class,
+                null,
+                null
+        );
+    }
+
+    private Shard ownerOf(UUID id) {
+        return shards.size() == 1 ? shards.get(0) : shards.get(shardRing.owner(id));
+    }
+
+    private <T> T makeHttpRequest(
+            String operation,
+            Upstream upstream,
+            String url,
+            HttpMethod httpMethod,
+            HttpHeaders headers,
+            Class<T> responseType,
+            Map<String, ?> uriVariables,
+            Object requestBody
+    ) throws HttpClientErrorException {
+        HttpEntity<?> entity = (requestBody != null) ? new HttpEntity<>(requestBody, headers)
+                : new HttpEntity<>(headers);
+
+        UpstreamRateLimit rateLimit = upstream.rateLimit();
+        boolean retried = false;
+        while (true) {
+            Duration blockedFor = rateLimit.blockedFor();
+            if (!blockedFor.isZero()) {
+                meterRegistry.counter(UPSTREAM_SHORT_CIRCUITED_METRIC, "operation", operation).increment();
+                throw new TooManyRequestsException(TOO_MANY_REQUESTS_MESSAGE, blockedFor);
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                ResponseEntity<T> response = upstreamGuard.call(operation, upstream.index(), upstream.uri(), () -> restTemplate.exchange(
+                        url,
+                        httpMethod,
+                        entity,
+                        responseType,
+                        uriVariables != null ? uriVariables : Map.of()
+                ));
+                rateLimit.onResponse(response.getHeaders());
+                return response.getBody();
+            } catch (TooManyRequests ex) {
+                outcome = "rate_limited";
+                meterRegistry.counter(UPSTREAM_RATE_LIMITED_METRIC, "operation", operation).increment();
+                Duration retryAfter = rateLimit.onRateLimited(ex.getResponseHeaders());
+                if (retried || !waitToRetry(retryAfter)) {
+                    throw new TooManyRequestsException(TOO_MANY_REQUESTS_MESSAGE, retryAfter);
+                }
+                retried = true;
+                meterRegistry.counter(UPSTREAM_RETRIES_METRIC, "operation", operation).increment();
+            } catch (UpstreamUnavailableException ex) {
+                outcome = "rejected";
+                throw ex;
+            } catch (NotFound ex) {
+                outcome = "not_found";
+                throw new ResourceNotFoundException("Resource not found at URL: " + url);
+            } catch (Exception ex) {
+                // a request interrupted by shutdown is not an upstream error
+                outcome = Thread.currentThread().isInterrupted() ? "cancelled" : "error";
+                throw new RuntimeException("An error occurred while making the HTTP request: " + ex.getMessage(), ex);
+            } finally {
+                sample.stop(Timer.builder(UPSTREAM_REQUESTS_METRIC)
+                        .description("Latency of calls to the mock employee server")
+                        .tag("operation", operation)
+                        .tag("method", httpMethod.name())
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    /*
+     * A short Retry-After is cheaper to wait out once than to surface to the caller; anything longer is forwarded.
+     */
+    private boolean waitToRetry(Duration retryAfter) {
+        Integer maxWait = employeeMock.getRetryAfterMaxWait();
+        if (retryAfter == null || maxWait == null || retryAfter.compareTo(Duration.ofSeconds(maxWait)) > 0) {
+            return false;
+        }
+        try {
+            log.debug("Upstream rate limited, retrying in {} ms", retryAfter.toMillis());
+            Thread.sleep(retryAfter.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Upstream(int index, String uri, UpstreamRateLimit rateLimit) {
+    }
+
+    private record Shard(int id, Upstream writer, List<Upstream> readers, AtomicInteger nextReader) {
+
+        /**
+         * The next reader in turn that is not waiting out a {@code Retry-After}, or the next in turn when all are.
+         */
+        Upstream reader() {
+            int start = Math.floorMod(nextReader.getAndIncrement(), readers.size());
+            for (int i = 0; i < readers.size(); i++) {
+                Upstream reader = readers.get((start + i) % readers.size());
+                if (reader.rateLimit().blockedFor().isZero()) {
+                    return reader;
+                }
+            }
+            return readers.get(start);
+        }
+    }
+}
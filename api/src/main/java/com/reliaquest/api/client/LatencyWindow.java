@@ -0,0 +1,46 @@
+package com.reliaquest.api.client;
+
+import java.util.Arrays;
+
+/**
+ * Latency quantile over the most recent {@code capacity} samples. The sorted copy behind {@link #quantile(double)} is
+ * rebuilt at most once every {@link #RESORT_INTERVAL} samples, so reading it on every request stays cheap.
+ */
+class LatencyWindow {
+    static final int RESORT_INTERVAL = 16;
+
+    private final long[] samples;
+    private final int minSamples;
+    private long[] sorted = new long[0];
+    private int next;
+    private int count;
+    private int sinceSort;
+
+    LatencyWindow(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = Math.min(minSamples, capacity);
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        sinceSort++;
+    }
+
+    /**
+     * The {@code quantile} of recent samples in nanoseconds, or -1 while fewer than {@code minSamples} were recorded.
+     */
+    synchronized long quantile(double quantile) {
+        if (count < minSamples) {
+            return -1;
+        }
+        if (sinceSort >= RESORT_INTERVAL || sorted.length != count) {
+            sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            sinceSort = 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
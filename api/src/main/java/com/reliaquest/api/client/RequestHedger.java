@@ -0,0 +1,166 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.UpstreamHedging;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent upstream calls. The call is started on a worker thread; if it has not completed after the
+ * configured latency quantile of recent calls, an identical second call is started and whichever succeeds first wins.
+ * The other is left to finish: the JDK client's synchronous exchange is not aborted by interrupting its thread, so an
+ * interrupt would only free the worker while the request carried on upstream, out of sight of every limit here.
+ *
+ * <p>Hedges are paid for from a token budget that every call tops up by {@code budgetRatio}; a token pays for a whole
+ * extra upstream request, since whichever call loses still runs to completion. Hedges are also skipped while the mock
+ * server's advertised rate-limit budget is nearly spent, so hedging cannot turn slowness into 429s.
+ *
+ * <p>Calls run on at most {@code maxThreads} workers, and a losing call keeps its worker until its response arrives or
+ * the read timeout expires, so the workers also bound how many abandoned requests are still in flight. When they are
+ * all busy a call runs unhedged on the caller's thread, and a hedge that cannot get a worker is counted as denied.
+ */
+@Component
+public class RequestHedger {
+    private static final String HEDGES_METRIC = "employee.upstream.hedges";
+
+    private final UpstreamHedging hedging;
+    private final MeterRegistry meterRegistry;
+    private final LatencyWindow latencies;
+    private final ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+    private final ExecutorService executor;
+
+    private double budget = 1;
+
+    public RequestHedger(UpstreamHedging hedging, MeterRegistry meterRegistry) {
+        this.hedging = hedging;
+        this.meterRegistry = meterRegistry;
+        this.latencies = new LatencyWindow(hedging.getWindow(), hedging.getMinSamples());
+        this.executor = new ThreadPoolExecutor(0, hedging.getMaxThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "employee-hedge");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public boolean isEnabled() {
+        return hedging.isEnabled();
+    }
+
+    /**
+     * Runs {@code call}, hedging it when it is slow and both the hedge budget and {@code rateLimit} allow.
+     */
+    public <T> T execute(Supplier<T> call, UpstreamRateLimit rateLimit) {
+        long hedgeAfterNanos = hedgeDelayNanos();
+        deposit();
+
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        try {
+            completion.submit(timed(call));
+        } catch (RejectedExecutionException ex) {
+            meterRegistry.counter(HEDGES_METRIC, "outcome", "saturated").increment();
+            return call.get();
+        }
+        Future<T> hedge = null;
+        try {
+            Future<T> first = hedgeAfterNanos < 0 ? null : completion.poll(hedgeAfterNanos, TimeUnit.NANOSECONDS);
+            if (first == null && hedgeAfterNanos >= 0) {
+                if (hasHeadroom(rateLimit) && withdraw()) {
+                    try {
+                        hedge = completion.submit(timed(call));
+                        meterRegistry.counter(HEDGES_METRIC, "outcome", "sent").increment();
+                    } catch (RejectedExecutionException ex) {
+                        meterRegistry.counter(HEDGES_METRIC, "outcome", "denied").increment();
+                    }
+                } else {
+                    meterRegistry.counter(HEDGES_METRIC, "outcome", "denied").increment();
+                }
+            }
+            if (first == null) {
+                first = completion.take();
+            }
+
+            try {
+                T result = first.get();
+                if (first == hedge) {
+                    meterRegistry.counter(HEDGES_METRIC, "outcome", "won").increment();
+                }
+                return result;
+            } catch (ExecutionException ex) {
+                if (hedge == null) {
+                    throw unwrap(ex);
+                }
+                try {
+                    return completion.take().get();
+                } catch (ExecutionException ignored) {
+                    throw unwrap(ex);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the employee service", ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    long hedgeDelayNanos() {
+        long quantile = latencies.quantile(hedging.getQuantile());
+        return quantile < 0 ? -1 : Math.max(quantile, hedging.getMinDelay().toNanos());
+    }
+
+    private boolean hasHeadroom(UpstreamRateLimit rateLimit) {
+        int remaining = rateLimit.getRemaining();
+        return rateLimit.blockedFor().isZero() && (remaining < 0 || remaining > hedging.getRateLimitReserve());
+    }
+
+    private synchronized void deposit() {
+        budget = Math.min(hedging.getMaxBurst(), budget + hedging.getBudgetRatio());
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    /*
+     * Records the latency of completed calls, losers included, so a slow primary that lost to its hedge still drags the
+     * quantile up rather than making hedges ever more frequent. Carries the caller's tracing context onto the worker
+     * thread. Calls interrupted by shutdown are not recorded.
+     */
+    private <T> Callable<T> timed(Supplier<T> call) {
+        return contextSnapshots.captureAll().wrap(() -> {
+            long start = System.nanoTime();
+            T result = call.get();
+            if (!Thread.currentThread().isInterrupted()) {
+                latencies.record(System.nanoTime() - start);
+            }
+            return result;
+        });
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new RuntimeException(ex.getCause());
+    }
+}
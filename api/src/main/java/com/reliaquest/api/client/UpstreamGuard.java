@@ -0,0 +1,130 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.UpstreamResilience;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.function.Supplier;
+
+/**
+ * Protects the api from a slow or failing mock server. A circuit breaker per server, shared by all operations, fails
+ * calls fast once too many recent calls failed or were slow, and probes with a few calls before closing again; with
+ * several mock servers (shards or read followers) one failing server does not cut the api off from the others. A
+ * bulkhead per operation caps how many request threads can be waiting on the upstream at once, and each server gets
+ * its own bulkheads too, so calls fanned out across servers do not compete with each other. Client errors such as 404
+ * and 429 and calls interrupted by shutdown are not counted as failures.
+ */
+@Slf4j
+@Component
+public class UpstreamGuard {
+    static final String CIRCUIT_BREAKER_NAME = "employee-upstream";
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final UpstreamResilience.Bulkheads bulkheadSettings;
+    private final UpstreamResilience.Breaker breakerSettings;
+
+    public UpstreamGuard(UpstreamResilience upstreamResilience, MeterRegistry meterRegistry) {
+        this.breakerSettings = upstreamResilience.getCircuitBreaker();
+        this.bulkheadSettings = upstreamResilience.getBulkhead();
+
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(breakerSettings.getSlidingWindowSize())
+                .minimumNumberOfCalls(breakerSettings.getMinimumNumberOfCalls())
+                .failureRateThreshold(breakerSettings.getFailureRateThreshold())
+                .slowCallRateThreshold(breakerSettings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(breakerSettings.getSlowCallDuration())
+                .waitDurationInOpenState(breakerSettings.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breakerSettings.getPermittedCallsInHalfOpenState())
+                .ignoreException(UpstreamGuard::isIgnored)
+                .build());
+        circuitBreakers.getEventPublisher().onEntryAdded(added -> {
+            CircuitBreaker circuitBreaker = added.getAddedEntry();
+            circuitBreaker.getEventPublisher().onStateTransition(event -> log.warn("Upstream circuit breaker {} {}",
+                    circuitBreaker.getName(), event.getStateTransition()));
+        });
+
+        this.bulkheads = BulkheadRegistry.of(bulkheadConfig(bulkheadSettings.getMaxConcurrentCalls()));
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    public CircuitBreaker.State getState() {
+        return getState(CIRCUIT_BREAKER_NAME);
+    }
+
+    /**
+     * State of the circuit breaker of the server at {@code uri}; closed until the server has been called.
+     */
+    public CircuitBreaker.State getState(String uri) {
+        return circuitBreakers.find(uri).map(CircuitBreaker::getState).orElse(CircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * Calls one operation may have in flight to one server at once.
+     */
+    public int maxConcurrentCalls(String operation) {
+        return bulkheadSettings.getOperations().getOrDefault(operation, bulkheadSettings.getMaxConcurrentCalls());
+    }
+
+    /**
+     * Runs an upstream call through the operation's bulkhead and the circuit breaker.
+     *
+     * @throws UpstreamUnavailableException when the circuit is open or the operation's bulkhead is full
+     */
+    public <T> T call(String operation, Supplier<T> upstreamCall) {
+        return call(operation, 0, CIRCUIT_BREAKER_NAME, upstreamCall);
+    }
+
+    /**
+     * Runs an upstream call to one of several mock servers through that server's bulkhead for the operation and that
+     * server's circuit breaker, which is keyed by its {@code uri}.
+     *
+     * @throws UpstreamUnavailableException when the circuit is open or the bulkhead is full
+     */
+    public <T> T call(String operation, int upstream, String uri, Supplier<T> upstreamCall) {
+        String bulkheadName = upstream == 0 ? operation : operation + "-" + upstream;
+        Bulkhead bulkhead = bulkheads.bulkhead(bulkheadName, () -> bulkheadConfig(maxConcurrentCalls(operation)));
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(uri);
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, upstreamCall))
+                    .get();
+        } catch (CallNotPermittedException ex) {
+            throw new UpstreamUnavailableException(
+                    "The employee service is unavailable. Please try again later.",
+                    breakerSettings.getWaitInOpenState());
+        } catch (BulkheadFullException ex) {
+            throw new UpstreamUnavailableException(
+                    "Too many requests to the employee service are in progress. Please try again later.", null);
+        }
+    }
+
+    /*
+     * 4xx responses say nothing about upstream health, and an interrupted call was abandoned by shutdown.
+     */
+    private static boolean isIgnored(Throwable ex) {
+        return ex instanceof HttpClientErrorException || Thread.currentThread().isInterrupted();
+    }
+
+    private BulkheadConfig bulkheadConfig(int maxConcurrentCalls) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(bulkheadSettings.getMaxWait())
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.reliaquest.api.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the mock server's rate-limit budget from its {@code RateLimit-*} and {@code Retry-After} headers so requests
+ * that would certainly be rejected are not sent until the budget resets.
+ */
+@Slf4j
+public class UpstreamRateLimit {
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    static final String POLICY_HEADER = "RateLimit-Policy";
+
+    // nanoTime values are only comparable by difference, so "not blocked" is anchored at construction time
+    private final AtomicLong blockedUntilNanos = new AtomicLong(System.nanoTime());
+    private volatile int limit = -1;
+    private volatile int remaining = -1;
+    private volatile long resetAtNanos = blockedUntilNanos.get();
+    private volatile Duration window = Duration.ZERO;
+
+    /**
+     * Time left before the upstream is expected to accept requests again; zero when it should accept them now.
+     */
+    public Duration blockedFor() {
+        long remainingNanos = blockedUntilNanos.get() - System.nanoTime();
+        return remainingNanos > 0 ? Duration.ofNanos(remainingNanos) : Duration.ZERO;
+    }
+
+    /** Last advertised request budget, or -1 when the upstream has not advertised one. */
+    public int getLimit() {
+        return limit;
+    }
+
+    /** Requests left in the current budget, or -1 when unknown. */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /** Window the advertised limit applies to, from {@code RateLimit-Policy}, or zero when unknown. */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /** Time until the budget is fully replenished, or zero when unknown. */
+    public Duration getResetIn() {
+        long resetNanos = resetAtNanos - System.nanoTime();
+        return resetNanos > 0 ? Duration.ofNanos(resetNanos) : Duration.ZERO;
+    }
+
+    public void onResponse(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        Long limitValue = parseSeconds(headers.getFirst(LIMIT_HEADER));
+        Long remainingValue = parseSeconds(headers.getFirst(REMAINING_HEADER));
+        Long reset = parseSeconds(headers.getFirst(RESET_HEADER));
+        long now = System.nanoTime();
+        if (limitValue != null) {
+            limit = limitValue.intValue();
+        }
+        if (remainingValue != null) {
+            remaining = remainingValue.intValue();
+        }
+        if (reset != null) {
+            resetAtNanos = now + Duration.ofSeconds(reset).toNanos();
+        }
+        Duration policyWindow = parsePolicyWindow(headers.getFirst(POLICY_HEADER));
+        if (policyWindow != null) {
+            window = policyWindow;
+        }
+    }
+
+    /**
+     * Records a 429 and returns the upstream's {@code Retry-After}, or {@code null} when it sent none.
+     */
+    public Duration onRateLimited(HttpHeaders headers) {
+        onResponse(headers);
+        remaining = 0;
+        Duration retryAfter = headers != null ? parseRetryAfter(headers.getFirst(HttpHeaders.RETRY_AFTER)) : null;
+        if (retryAfter != null) {
+            long until = System.nanoTime() + retryAfter.toNanos();
+            blockedUntilNanos.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+        }
+        return retryAfter;
+    }
+
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Long seconds = parseSeconds(value);
+        if (seconds != null) {
+            return Duration.ofSeconds(Math.max(seconds, 0));
+        }
+        try {
+            Duration untilDate = Duration.between(
+                    ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException ex) {
+            log.debug("Ignoring unparseable Retry-After header: {}", value);
+            return null;
+        }
+    }
+
+    /*
+     * RateLimit-Policy is "<limit>;w=<seconds>" with optional further parameters.
+     */
+    static Duration parsePolicyWindow(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (String parameter : value.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("w=")) {
+                Long seconds = parseSeconds(trimmed.substring(2));
+                return seconds != null && seconds > 0 ? Duration.ofSeconds(seconds) : null;
+            }
+        }
+        return null;
+    }
+
+    private static Long parseSeconds(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "employee.batch-lookup")
+public class BatchLookup {
+    /** Most ids accepted in one batch lookup. */
+    private int maxIds = 100;
+
+    /** Upstream lookups run concurrently for cache misses, shared by all batch requests. */
+    private int parallelism = 8;
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "employee.cache")
+public class EmployeeCache {
+    /** How long a fetched employee list is served without triggering a refresh. */
+    private Duration freshFor = Duration.ofSeconds(5);
+
+    /** Oldest employee list still served, with a staleness header, while refreshes fail or are rate limited. */
+    private Duration maxStale = Duration.ofMinutes(5);
+
+    private Prefetch prefetch = new Prefetch();
+
+    private ById byId = new ById();
+
+    private Responses responses = new Responses();
+
+    private Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class Prefetch {
+        /** Refresh the employee list on a schedule instead of on the request path. */
+        private boolean enabled = false;
+
+        /** Shortest delay between scheduled refreshes. */
+        private Duration interval = Duration.ofSeconds(5);
+
+        /** Longest delay between scheduled refreshes, including failure backoff. */
+        private Duration maxInterval = Duration.ofMinutes(1);
+
+        /** Fraction of the upstream's advertised request budget the refresher may spend. */
+        private double budgetShare = 0.25;
+
+        /** Each delay is randomly stretched or shrunk by up to this fraction so api instances do not synchronise. */
+        private double jitter = 0.1;
+    }
+
+    @Data
+    public static class ById {
+        /** Most employees kept for lookups by id; eviction favours frequently requested ids. */
+        private long maximumSize = 10_000;
+
+        /** How long a looked up, listed or created employee is served without asking the mock server again. */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /** How long an id the mock server did not know is answered with a 404 without asking again. */
+        private Duration notFoundTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Responses {
+        /** Serve the employee list, highest salary and top ten names from bytes serialised once per list version. */
+        private boolean enabled = true;
+
+        /** Cached responses at least this large also keep a gzip-compressed copy for callers that accept it. */
+        private DataSize gzipMinSize = DataSize.ofKilobytes(2);
+    }
+
+    @Data
+    public static class Invalidation {
+        /** Exchange creates and deletes with other api instances over UDP so their caches follow this one's writes. */
+        private boolean enabled = false;
+
+        /** Address the invalidation socket listens on; must only be reachable from trusted hosts. */
+        private String bindAddress = "127.0.0.1";
+
+        /** UDP port this instance listens on; 0 picks a free one. */
+        private int port = 0;
+
+        /**
+         * Every api instance as "host:port"; this instance may be listed too and ignores its own datagrams. Datagrams
+         * from any other source address are dropped.
+         */
+        private List<String> peers = new ArrayList<>();
+    }
+}
@@ -1,14 +1,28 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.util.ContentCoding;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @Data
 @ConfigurationProperties(prefix = "mock.employee")
 public class EmployeeMock {
     private String uri;
+    private List<String> shards = new ArrayList<>();
+    private List<String> replicas = new ArrayList<>();
     private Integer connectTimeout;
     private Integer readTimeout;
+    private Integer retryAfterMaxWait;
+    private WireFormat wireFormat = WireFormat.CBOR;
+    private List<ContentCoding> acceptEncodings = new ArrayList<>();
+
+    public enum WireFormat {
+        JSON,
+        CBOR
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "employee.query")
+public class EmployeeQueryLimits {
+    /** Employees returned by a query that gives no limit. */
+    private int defaultLimit = 100;
+
+    /** Largest limit a query may ask for. */
+    private int maxLimit = 1000;
+}
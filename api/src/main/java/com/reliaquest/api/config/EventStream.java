@@ -0,0 +1,33 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "employee.events")
+public class EventStream {
+    /** Recent events kept for subscribers to catch up on, rounded up to a power of two. */
+    private int bufferSize = 1024;
+
+    /** Most concurrent subscribers; further subscriptions are answered with 503. */
+    private int maxSubscribers = 1000;
+
+    /** Threads writing events to subscribers. */
+    private int dispatchThreads = 4;
+
+    /**
+     * How long a single write to a subscriber may block before the subscriber is dropped and another dispatch thread
+     * takes over from the one stuck writing to it; zero never drops a subscriber for a slow write.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(5);
+
+    /** Idle subscribers get a comment line this often so proxies keep the connection and dead ones are noticed. */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /** How long a subscription lasts before the client reconnects, resuming from its Last-Event-ID. */
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "employee.search")
+public class NameSearchLimits {
+    /** Employees returned by a name search that gives no limit. */
+    private int defaultLimit = 10;
+
+    /** Largest limit a name search may ask for. */
+    private int maxLimit = 100;
+}
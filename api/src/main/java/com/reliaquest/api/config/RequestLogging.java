@@ -0,0 +1,27 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "request-logging")
+public class RequestLogging {
+    private boolean enabled = true;
+
+    /** Fraction of successful requests logged for endpoints without their own rate. */
+    private double defaultSampleRate = 0.01;
+
+    /** Per-endpoint sample rates keyed by "METHOD /route/pattern". */
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    /** Requests slower than this are always logged. */
+    private long slowThresholdMs = 1000;
+
+    /** Upper bound on the length of any free-text value written to a request log line. */
+    private int maxValueLength = 128;
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.util.ContentCoding;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "compression")
+public class ResponseCompression {
+    private boolean enabled = true;
+
+    /** Codings offered to callers, most preferred first; a caller gets the first one its Accept-Encoding allows. */
+    private List<ContentCoding> codings = new ArrayList<>(List.of(ContentCoding.GZIP));
+
+    /** Deflate level for gzip, from 1 (fastest) to 9 (smallest). */
+    private int gzipLevel = 6;
+
+    /** Responses smaller than this are sent uncompressed. */
+    private DataSize minSize = DataSize.ofKilobytes(1);
+
+    /** Per-endpoint minimum sizes keyed by "METHOD /route/pattern". */
+    private Map<String, DataSize> endpointMinSizes = new HashMap<>();
+
+    /** Content types worth compressing. */
+    private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "application/cbor", "text/plain"));
+}
@@ -1,19 +1,47 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.ContentDecodingInterceptor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class RestTemplateConfig {
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder, EmployeeMock employeeMock) {
-        return builder
-                .setConnectTimeout(Duration.ofSeconds(employeeMock.getConnectTimeout()))
-                .setReadTimeout(Duration.ofSeconds(employeeMock.getReadTimeout()))
+        // an interrupted send returns early but does not abort its exchange, so hedged requests let the loser finish
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(employeeMock.getConnectTimeout()))
                 .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(employeeMock.getReadTimeout()));
+        RestTemplate restTemplate = builder
+                .requestFactory(() -> requestFactory)
+                .build();
+        if (employeeMock.getWireFormat() == EmployeeMock.WireFormat.CBOR) {
+            // request bodies stay JSON; responses are CBOR when the server supports it and JSON otherwise
+            List<MediaType> accept = List.of(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON);
+            restTemplate.getInterceptors().add((request, body, execution) -> {
+                request.getHeaders().setAccept(accept);
+                return execution.execute(request, body);
+            });
+            if (restTemplate.getMessageConverters().stream()
+                    .noneMatch(MappingJackson2CborHttpMessageConverter.class::isInstance)) {
+                restTemplate.getMessageConverters().add(new MappingJackson2CborHttpMessageConverter());
+            }
+        }
+        if (!employeeMock.getAcceptEncodings().isEmpty()) {
+            restTemplate.getInterceptors().add(new ContentDecodingInterceptor(employeeMock.getAcceptEncodings()));
+        }
+        return restTemplate;
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.reliaquest.api.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+    private static final Logger TRACES = LoggerFactory.getLogger("traces");
+
+    /**
+     * Exports finished spans as Zipkin v2 JSON, one per line, through the "traces" logger; logback-spring.xml
+     * routes that logger to an asynchronous file appender for offline analysis.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.enabled", havingValue = "true")
+    public SpanHandler traceFileSpanHandler() {
+        return new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                if (TRACES.isInfoEnabled()) {
+                    TRACES.info("{}", span);
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "mock.employee.hedging")
+public class UpstreamHedging {
+    /** Send a second getById request when the first is slower than the observed {@code quantile} latency. */
+    private boolean enabled = false;
+
+    /** Latency quantile of recent getById calls after which a hedge is sent. */
+    private double quantile = 0.95;
+
+    /** Never hedge sooner than this, however fast recent calls were. */
+    private Duration minDelay = Duration.ofMillis(5);
+
+    /** Recent getById latencies the quantile is computed over. */
+    private int window = 256;
+
+    /** Calls observed before hedging starts; until then there is no meaningful quantile. */
+    private int minSamples = 20;
+
+    /** Hedges earned per getById call, e.g. 0.05 allows at most one hedge per 20 calls on average. */
+    private double budgetRatio = 0.05;
+
+    /** Unused hedges that may be saved up for a burst of slow calls. */
+    private int maxBurst = 5;
+
+    /** Do not hedge once the mock server's advertised remaining budget is at or below this. */
+    private int rateLimitReserve = 3;
+
+    /** Worker threads for hedged calls; when all are busy calls run on the request thread without a hedge. */
+    private int maxThreads = 32;
+}
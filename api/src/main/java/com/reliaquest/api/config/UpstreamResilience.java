@@ -0,0 +1,52 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "mock.employee.resilience")
+public class UpstreamResilience {
+    private Breaker circuitBreaker = new Breaker();
+    private Bulkheads bulkhead = new Bulkheads();
+
+    @Data
+    public static class Breaker {
+        /** Percentage of failed calls in the window that opens the circuit. */
+        private float failureRateThreshold = 50;
+
+        /** Percentage of calls slower than {@code slowCallDuration} in the window that opens the circuit. */
+        private float slowCallRateThreshold = 80;
+
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+
+        /** Number of most recent calls the failure and slow call rates are computed over. */
+        private int slidingWindowSize = 20;
+
+        /** Calls needed in the window before the rates are evaluated at all. */
+        private int minimumNumberOfCalls = 10;
+
+        /** How long an open circuit fails fast before letting probe calls through. */
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+
+        /** Probe calls let through while half-open; they decide whether the circuit closes or opens again. */
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Data
+    public static class Bulkheads {
+        /** Concurrent upstream calls allowed per operation without an entry in {@code operations}. */
+        private int maxConcurrentCalls = 8;
+
+        /** How long a call may wait for a free slot before being rejected. */
+        private Duration maxWait = Duration.ZERO;
+
+        /** Concurrent upstream calls allowed per operation, keyed by getAll, getById, create or delete. */
+        private Map<String, Integer> operations = new HashMap<>();
+    }
+}
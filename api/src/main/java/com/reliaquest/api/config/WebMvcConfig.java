@@ -0,0 +1,20 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.web.CachedResponseInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    private final CachedResponseInterceptor cachedResponseInterceptor;
+
+    public WebMvcConfig(CachedResponseInterceptor cachedResponseInterceptor) {
+        this.cachedResponseInterceptor = cachedResponseInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(cachedResponseInterceptor);
+    }
+}
@@ -1,30 +1,44 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.request.EmployeeBatchLookup;
 import com.reliaquest.api.model.request.EmployeeCreation;
+import com.reliaquest.api.model.request.EmployeeQuery;
 import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.EmployeeLookupResult;
+import com.reliaquest.api.model.response.SalaryStatistics;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.web.CachedResponse;
+import com.reliaquest.api.web.EmployeeEventStream;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import static com.reliaquest.api.util.UuidUtil.isValidUUID;
+import static com.reliaquest.api.util.UuidUtil.parseUUID;
 
 @RestController
 @RequestMapping("/api/v1/employeeDetails")
 public class EmployeeControllerImpl implements IEmployeeController<Employee, EmployeeCreation> {
 
     private final EmployeeService employeeService;
+    private final EmployeeEventStream employeeEventStream;
 
     @Autowired
-    public EmployeeControllerImpl(EmployeeService employeeService)
+    public EmployeeControllerImpl(EmployeeService employeeService, EmployeeEventStream employeeEventStream)
     {
         this.employeeService = employeeService;
+        this.employeeEventStream = employeeEventStream;
     }
 
+    @CachedResponse
     @GetMapping()
     public ResponseEntity<List<Employee>> getAllEmployees() {
         List<Employee> employees = employeeService.getAllEmployees();
@@ -34,37 +48,79 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
         if (searchString == null || searchString.isBlank()) {
-            throw new IllegalArgumentException("Search string cannot be null");
+            throw new IllegalArgumentException("Search string cannot be null or empty");
         }
         List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
         return ResponseEntity.ok().body(employees);
     }
 
+    @PostMapping("/query")
+    public ResponseEntity<List<Employee>> queryEmployees(@RequestBody @Valid EmployeeQuery query) {
+        List<Employee> employees = employeeService.queryEmployees(query);
+        return ResponseEntity.ok().body(employees);
+    }
+
+    /**
+     * Streams employee creates and deletes as server-sent events, resuming after {@code Last-Event-ID} on reconnect.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeEvents(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return employeeEventStream.subscribe(lastEventId)
+                .orElseThrow(() -> new TooManyRequestsException("Too many event stream subscribers. Please try again later."));
+    }
+
+    /**
+     * Ranked type-ahead ({@code mode=prefix}) or typo-tolerant ({@code mode=fuzzy}) name search.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Employee>> searchEmployees(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "mode", required = false) String mode,
+            @RequestParam(name = "maxEdits", required = false) Integer maxEdits,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        List<Employee> employees = employeeService.searchEmployees(query, mode, maxEdits, limit);
+        return ResponseEntity.ok().body(employees);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) {
-        if (id == null || id.isBlank()) {
-            throw new IllegalArgumentException("Employee ID cannot be null");
-        }
-        if (!isValidUUID(id)) {
-            throw new IllegalArgumentException("Invalid UUID format for Employee ID: " + id);
-        }
-
-        Employee employee = employeeService.getEmployeeById(id);
+        Employee employee = employeeService.getEmployeeById(toEmployeeId(id));
         return ResponseEntity.ok().body(employee);
     }
 
+    @PostMapping("/lookup")
+    public ResponseEntity<List<EmployeeLookupResult>> getEmployeesByIds(@RequestBody @Valid EmployeeBatchLookup lookup) {
+        List<EmployeeLookupResult> results = employeeService.getEmployeesByIds(lookup.getIds());
+        return ResponseEntity.ok().body(results);
+    }
+
+    @CachedResponse
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
         return ResponseEntity.ok().body(highestSalary);
     }
 
+    @CachedResponse
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         List<String> topTenNames = employeeService.getTopTenHighestEarningEmployeeNames();
         return ResponseEntity.ok().body(topTenNames);
     }
 
+    @GetMapping("/salaryStatistics")
+    public ResponseEntity<SalaryStatistics> getSalaryStatistics(
+            @RequestParam(name = "percentiles", required = false) List<Double> percentiles) {
+        SalaryStatistics statistics = employeeService.getSalaryStatistics(percentiles);
+        return ResponseEntity.ok().body(statistics);
+    }
+
+    @GetMapping("/salaryStatistics/byTitle")
+    public ResponseEntity<Map<String, SalaryStatistics>> getSalaryStatisticsByTitle() {
+        Map<String, SalaryStatistics> statistics = employeeService.getSalaryStatisticsByTitle();
+        return ResponseEntity.ok().body(statistics);
+    }
+
     @PostMapping()
     public ResponseEntity<Employee> createEmployee(@RequestBody @Valid EmployeeCreation employeeInput) {
         Employee createdEmployee = employeeService.createEmployee(employeeInput);
@@ -73,13 +129,21 @@ public class EmployeeControllerImpl implements IEmployeeController<Employee, Emp
 
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
+        String employeeName = employeeService.deleteEmployeeById(toEmployeeId(id));
+        return ResponseEntity.ok(employeeName);
+    }
+
+    /*
+     * Validates and parses the path id once; the service and client only ever see the parsed UUID.
+     */
+    private static UUID toEmployeeId(String id) {
         if (id == null || id.isBlank()) {
-            throw new IllegalArgumentException("Employee ID cannot be null");
+            throw new IllegalArgumentException("Employee ID cannot be null or empty");
         }
-        if (!isValidUUID(id)) {
+        UUID employeeId = parseUUID(id);
+        if (employeeId == null) {
             throw new IllegalArgumentException("Invalid UUID format for Employee ID: " + id);
         }
-        String employeeName = employeeService.deleteEmployeeById(id);
-        return ResponseEntity.ok(employeeName);
+        return employeeId;
     }
 }
\ No newline at end of file
@@ -1,10 +1,26 @@
 package com.reliaquest.api.exception;
 
+import java.time.Duration;
+
 public class TooManyRequestsException extends RuntimeException {
+    private final Duration retryAfter;
+
     public TooManyRequestsException(String message) {
+        this(message, (Duration) null);
+    }
+    public TooManyRequestsException(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
     }
     public TooManyRequestsException(String message, Throwable cause) {
         super(message, cause);
+        this.retryAfter = null;
+    }
+
+    /**
+     * How long callers should wait before retrying, or {@code null} when the upstream gave no hint.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
-}
\ No newline at end of file
+}
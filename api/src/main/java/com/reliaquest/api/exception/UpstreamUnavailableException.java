@@ -0,0 +1,19 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+
+public class UpstreamUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long callers should wait before retrying, or {@code null} when unknown.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -2,13 +2,16 @@ package com.reliaquest.api.exception.exceptionHandler;
 
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,7 +21,15 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(TooManyRequestsException.class)
     public ResponseEntity<String> handleTooManyRequests(TooManyRequestsException ex) {
         log.error("Too many requests: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ex.getMessage());
+        return withRetryAfter(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS), ex.getRetryAfter())
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<String> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+        log.warn("Upstream unavailable: {}", ex.getMessage());
+        return withRetryAfter(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE), ex.getRetryAfter())
+                .body(ex.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
@@ -47,4 +58,12 @@ public class GlobalExceptionHandler {
         log.error("Employee not found: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity.BodyBuilder withRetryAfter(ResponseEntity.BodyBuilder response, Duration retryAfter) {
+        if (retryAfter != null) {
+            long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return response;
+    }
+}
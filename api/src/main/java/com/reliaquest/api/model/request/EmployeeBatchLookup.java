@@ -0,0 +1,18 @@
+package com.reliaquest.api.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchLookup {
+    @JsonProperty("ids")
+    @NotEmpty(message = "Ids cannot be empty")
+    private List<String> ids;
+}
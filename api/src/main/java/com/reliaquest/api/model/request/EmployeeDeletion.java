@@ -5,10 +5,19 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmployeeDeletion {
     @JsonProperty("name")
     private String name;
+
+    /**
+     * Id of the employee named {@code name}, so the mock server deletes exactly that employee without searching by
+     * name.
+     */
+    @JsonProperty("id")
+    private UUID id;
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.reliaquest.api.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filter, sort and limit applied to the employee list. Every filter that is set must match; {@code titles} matches any
+ * of the listed titles. Sort keys are field names, prefixed with {@code -} for descending order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeQuery {
+    @JsonProperty("titles")
+    private List<String> titles;
+
+    @JsonProperty("age")
+    @Valid
+    private Range age;
+
+    @JsonProperty("salary")
+    @Valid
+    private Range salary;
+
+    @JsonProperty("email_domain")
+    private String emailDomain;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("sort")
+    private List<@Pattern(regexp = "-?(name|salary|age|title|email)",
+            message = "Sort keys must be one of name, salary, age, title or email, optionally prefixed with -") String> sort;
+
+    @JsonProperty("limit")
+    @Min(value = 1, message = "Limit must be greater than 0")
+    private Integer limit;
+
+    /**
+     * Inclusive bounds; either may be left out.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Range {
+        @JsonProperty("min")
+        private Integer min;
+
+        @JsonProperty("max")
+        private Integer max;
+    }
+}
@@ -4,11 +4,17 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
-
-@Data
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * An employee as both the mock server sends it and this api returns it. Upstream responses are deserialised straight
+ * into this type and the same instances are shared by the snapshot, the id cache, the query and search indexes and
+ * change events, so it is immutable; Jackson builds it through the builder.
+ */
+@Value
 @AllArgsConstructor
-@NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class Employee {
     @JsonProperty("id")
     private UUID id;
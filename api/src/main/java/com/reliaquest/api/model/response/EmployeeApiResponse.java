@@ -6,7 +6,7 @@ import lombok.Data;
 @Data
 public class EmployeeApiResponse {
     @JsonProperty("data")
-    private EmployeeServer data;
+    private Employee data;
 
     @JsonProperty("status")
     private String status;
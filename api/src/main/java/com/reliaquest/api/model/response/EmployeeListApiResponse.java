@@ -8,7 +8,7 @@ import java.util.List;
 @Data
 public class EmployeeListApiResponse {
     @JsonProperty("data")
-    private List<EmployeeServer> data;
+    private List<Employee> data;
 
     @JsonProperty("status")
     private String status;
@@ -0,0 +1,37 @@
+package com.reliaquest.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of looking up one id in a batch: the employee with status 200, or an error message with the status the
+ * single-id endpoint would have answered with.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeLookupResult {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("status")
+    private int status;
+
+    @JsonProperty("employee")
+    private Employee employee;
+
+    @JsonProperty("error")
+    private String error;
+
+    public static EmployeeLookupResult found(String id, Employee employee) {
+        return new EmployeeLookupResult(id, 200, employee, null);
+    }
+
+    public static EmployeeLookupResult failed(String id, int status, String error) {
+        return new EmployeeLookupResult(id, status, null, error);
+    }
+}
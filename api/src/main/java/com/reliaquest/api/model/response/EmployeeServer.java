@@ -1,27 +0,0 @@
-package com.reliaquest.api.model.response;
-
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
-
-import java.util.UUID;
-
-@Data
-public class EmployeeServer {
-    @JsonProperty("id")
-    private UUID id;
-
-    @JsonProperty("employee_name")
-    private String employeeName;
-
-    @JsonProperty("employee_salary")
-    private Integer employeeSalary;
-
-    @JsonProperty("employee_age")
-    private Integer employeeAge;
-
-    @JsonProperty("employee_title")
-    private String employeeTitle;
-
-    @JsonProperty("employee_email")
-    private String employeeEmail;
-}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.reliaquest.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Salary statistics of a group of employees. Everything but {@code count} and {@code total} is left out when no
+ * employee in the group has a salary; {@code percentiles} maps each requested percentile, such as {@code p90}, to the
+ * nearest-rank salary.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalaryStatistics {
+    @JsonProperty("count")
+    private int count;
+
+    @JsonProperty("total")
+    private long total;
+
+    @JsonProperty("min")
+    private Integer min;
+
+    @JsonProperty("max")
+    private Integer max;
+
+    @JsonProperty("mean")
+    private Double mean;
+
+    @JsonProperty("median")
+    private Double median;
+
+    @JsonProperty("percentiles")
+    private Map<String, Integer> percentiles;
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.model.response.Employee;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Indexes over one version of the employee list, addressing employees by their position in it. Salaries and ages are
+ * {@link SortedColumn}s; titles and email domains are dictionaries from the lower-cased value to a bitmap of the rows
+ * holding it. Built once per list version and then only read.
+ */
+final class EmployeeIndex {
+    private final long version;
+    private final List<Employee> employees;
+    private final SortedColumn salaries;
+    private final SortedColumn ages;
+    private final Map<String, BitSet> titles;
+    private final Map<String, BitSet> domains;
+
+    private EmployeeIndex(
+            long version,
+            List<Employee> employees,
+            SortedColumn salaries,
+            SortedColumn ages,
+            Map<String, BitSet> titles,
+            Map<String, BitSet> domains
+    ) {
+        this.version = version;
+        this.employees = employees;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.titles = titles;
+        this.domains = domains;
+    }
+
+    static EmployeeIndex build(EmployeeSnapshot snapshot) {
+        List<Employee> employees = snapshot.employees();
+        Map<String, BitSet> titles = new HashMap<>();
+        Map<String, BitSet> domains = new HashMap<>();
+        for (int row = 0; row < employees.size(); row++) {
+            Employee employee = employees.get(row);
+            if (employee.getEmployeeTitle() != null) {
+                titles.computeIfAbsent(normalise(employee.getEmployeeTitle()), title -> new BitSet()).set(row);
+            }
+            String domain = domainOf(employee.getEmployeeEmail());
+            if (domain != null) {
+                domains.computeIfAbsent(domain, key -> new BitSet()).set(row);
+            }
+        }
+        return new EmployeeIndex(
+                snapshot.version(),
+                employees,
+                SortedColumn.of(employees, Employee::getEmployeeSalary),
+                SortedColumn.of(employees, Employee::getEmployeeAge),
+                titles,
+                domains);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return employees.size();
+    }
+
+    Employee employee(int row) {
+        return employees.get(row);
+    }
+
+    SortedColumn salaries() {
+        return salaries;
+    }
+
+    SortedColumn ages() {
+        return ages;
+    }
+
+    /** Rows holding {@code title}, or {@code null} when no employee has it. */
+    BitSet title(String title) {
+        return titles.get(normalise(title));
+    }
+
+    /** Rows with an email address in {@code domain}, or {@code null} when no employee has one. */
+    BitSet domain(String domain) {
+        String normalised = normalise(domain);
+        return domains.get(normalised.startsWith("@") ? normalised.substring(1) : normalised);
+    }
+
+    static String normalise(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String domainOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 ? null : normalise(email.substring(at + 1));
+    }
+}
@@ -0,0 +1,500 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.config.EmployeeQueryLimits;
+import com.reliaquest.api.model.request.EmployeeQuery;
+import com.reliaquest.api.model.response.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * Answers {@link EmployeeQuery}s from the cached employee list using an {@link EmployeeIndex} of the list's current
+ * version. Every query is costed several ways, in rows visited: a full scan; a salary or age range as a slice of its
+ * sorted column; the title and email domain bitmaps; and, when the query sorts by salary or age alone, a walk of that
+ * sorted column which stops once it has {@code limit} matches and needs no sort. Range and bitmap sizes are exact;
+ * the number of matches is estimated from them assuming the filters are independent. The cheapest plan is run.
+ */
+@Slf4j
+@Component
+public class EmployeeQueryEngine {
+    private static final String QUERIES_METRIC = "employee.query";
+
+    /** Share of employees assumed to match a name filter, which has no index. */
+    private static final double NAME_SELECTIVITY = 0.1;
+
+    private static final BitSet NO_ROWS = new BitSet();
+
+    private final EmployeeQueryLimits limits;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<EmployeeIndex> current = new AtomicReference<>();
+
+    public EmployeeQueryEngine(EmployeeQueryLimits limits, MeterRegistry meterRegistry) {
+        this.limits = limits;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The employees in {@code snapshot} matching {@code query}, sorted as it asks or else in list order, and at most
+     * its limit.
+     *
+     * @throws IllegalArgumentException when the limit is too large, a range is empty or a sort key is unknown
+     */
+    public List<Employee> query(EmployeeSnapshot snapshot, EmployeeQuery query) {
+        int limit = limitOf(query);
+        List<SortKey> sort = SortKey.parse(query.getSort());
+        EmployeeIndex index = index(snapshot);
+        Filter filter = Filter.compile(index, query);
+
+        Access access = plan(index, filter, sort, limit);
+        meterRegistry.counter(QUERIES_METRIC, "plan", access.tag).increment();
+        return switch (access) {
+            case SALARY_ORDER -> walk(index, filter, index.salaries(), filter.salaryFrom, filter.salaryTo,
+                    filter.salary == null, sort.get(0).descending(), limit);
+            case AGE_ORDER -> walk(index, filter, index.ages(), filter.ageFrom, filter.ageTo,
+                    filter.age == null, sort.get(0).descending(), limit);
+            default -> sort.isEmpty()
+                    ? inListOrder(access, index, filter, limit)
+                    : sorted(access, index, filter, sort, limit);
+        };
+    }
+
+    private enum Access {
+        SCAN("scan"),
+        SALARY_RANGE("salary-range"),
+        AGE_RANGE("age-range"),
+        BITMAP("bitmap"),
+        SALARY_ORDER("salary-order"),
+        AGE_ORDER("age-order");
+
+        private final String tag;
+
+        Access(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private Access plan(EmployeeIndex index, Filter filter, List<SortKey> sort, int limit) {
+        int size = index.size();
+        if (size == 0) {
+            return Access.SCAN;
+        }
+        double salaryRows = filter.salary == null ? size : filter.salaryTo - filter.salaryFrom;
+        double ageRows = filter.age == null ? size : filter.ageTo - filter.ageFrom;
+        double bitmapRows = filter.bitmapRows(size);
+        double matches = salaryRows / size * ageRows / size * bitmapRows
+                * (filter.name == null ? 1 : NAME_SELECTIVITY);
+        boolean sorted = !sort.isEmpty();
+        double sortCost = sorted ? matches * Math.log(limit + 1.0) / Math.log(2) : 0;
+        double bitmapWords = size / 64.0;
+
+        Access best = Access.SCAN;
+        double bestCost = (sorted ? size : untilLimit(size, matches, limit)) + sortCost;
+        if (filter.salary != null) {
+            double cost = salaryRows + (sorted ? sortCost : bitmapWords);
+            if (cost < bestCost) {
+                best = Access.SALARY_RANGE;
+                bestCost = cost;
+            }
+        }
+        if (filter.age != null) {
+            double cost = ageRows + (sorted ? sortCost : bitmapWords);
+            if (cost < bestCost) {
+                best = Access.AGE_RANGE;
+                bestCost = cost;
+            }
+        }
+        if (filter.hasBitmaps()) {
+            double cost = bitmapWords * filter.bitmapCount()
+                    + (sorted ? bitmapRows : untilLimit(bitmapRows, matches, limit)) + sortCost;
+            if (cost < bestCost) {
+                best = Access.BITMAP;
+                bestCost = cost;
+            }
+        }
+        if (sort.size() == 1 && sort.get(0).field().equals("salary")) {
+            double rows = filter.salary == null ? size : salaryRows;
+            double cost = untilLimit(rows, matches, limit);
+            if (cost < bestCost) {
+                best = Access.SALARY_ORDER;
+                bestCost = cost;
+            }
+        }
+        if (sort.size() == 1 && sort.get(0).field().equals("age")) {
+            double rows = filter.age == null ? size : ageRows;
+            double cost = untilLimit(rows, matches, limit);
+            if (cost < bestCost) {
+                best = Access.AGE_ORDER;
+                bestCost = cost;
+            }
+        }
+        log.debug("Query over {} employees planned as {} at cost {} for ~{} matches",
+                size, best.tag, Math.round(bestCost), Math.round(matches));
+        return best;
+    }
+
+    /*
+     * Rows visited before finding limit matches, when the matches are spread evenly through them.
+     */
+    private static double untilLimit(double rows, double matches, int limit) {
+        return matches <= limit ? rows : rows * limit / matches;
+    }
+
+    private static void forEachCandidate(Access access, EmployeeIndex index, Filter filter, IntPredicate visitor) {
+        switch (access) {
+            case SALARY_RANGE -> {
+                for (int position = filter.salaryFrom; position < filter.salaryTo; position++) {
+                    if (!visitor.test(index.salaries().row(position))) {
+                        return;
+                    }
+                }
+            }
+            case AGE_RANGE -> {
+                for (int position = filter.ageFrom; position < filter.ageTo; position++) {
+                    if (!visitor.test(index.ages().row(position))) {
+                        return;
+                    }
+                }
+            }
+            case BITMAP -> {
+                BitSet rows = filter.bitmap();
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    if (!visitor.test(row)) {
+                        return;
+                    }
+                }
+            }
+            default -> {
+                for (int row = 0; row < index.size(); row++) {
+                    if (!visitor.test(row)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Employee> inListOrder(Access access, EmployeeIndex index, Filter filter, int limit) {
+        List<Employee> result = new ArrayList<>(Math.min(limit, 16));
+        if (access == Access.SCAN || access == Access.BITMAP) {
+            forEachCandidate(access, index, filter, row -> {
+                if (filter.matches(index, row)) {
+                    result.add(index.employee(row));
+                }
+                return result.size() < limit;
+            });
+            return result;
+        }
+
+        // ranges yield rows in value order, so matches are put back into list order through a bitmap
+        BitSet matched = new BitSet(index.size());
+        forEachCandidate(access, index, filter, row -> {
+            if (filter.matches(index, row)) {
+                matched.set(row);
+            }
+            return true;
+        });
+        for (int row = matched.nextSetBit(0); row >= 0 && result.size() < limit; row = matched.nextSetBit(row + 1)) {
+            result.add(index.employee(row));
+        }
+        return result;
+    }
+
+    private static List<Employee> sorted(
+            Access access, EmployeeIndex index, Filter filter, List<SortKey> sort, int limit) {
+        Comparator<Employee> order = SortKey.comparator(sort);
+        Comparator<Integer> rowOrder = (a, b) -> {
+            int compared = order.compare(index.employee(a), index.employee(b));
+            return compared != 0 ? compared : Integer.compare(a, b);
+        };
+        PriorityQueue<Integer> worstFirst = new PriorityQueue<>(Math.min(limit, index.size()) + 1, rowOrder.reversed());
+        forEachCandidate(access, index, filter, row -> {
+            if (filter.matches(index, row)) {
+                worstFirst.offer(row);
+                if (worstFirst.size() > limit) {
+                    worstFirst.poll();
+                }
+            }
+            return true;
+        });
+
+        Employee[] result = new Employee[worstFirst.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = index.employee(worstFirst.poll());
+        }
+        return List.of(result);
+    }
+
+    /*
+     * Equal values are visited in list order in both directions, matching the tie-break of sorted(); rows without a
+     * value sort last and can only match when the column is not filtered on.
+     */
+    private static List<Employee> walk(
+            EmployeeIndex index,
+            Filter filter,
+            SortedColumn column,
+            int from,
+            int to,
+            boolean includeNulls,
+            boolean descending,
+            int limit
+    ) {
+        List<Employee> result = new ArrayList<>(Math.min(limit, 16));
+        if (!descending) {
+            for (int position = from; position < to && result.size() < limit; position++) {
+                addIfMatches(index, filter, column.row(position), result);
+            }
+        } else {
+            int end = to;
+            while (end > from && result.size() < limit) {
+                int start = end - 1;
+                while (start > from && column.value(start - 1) == column.value(start)) {
+                    start--;
+                }
+                for (int position = start; position < end && result.size() < limit; position++) {
+                    addIfMatches(index, filter, column.row(position), result);
+                }
+                end = start;
+            }
+        }
+        if (includeNulls) {
+            for (int row : column.nullRows()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                addIfMatches(index, filter, row, result);
+            }
+        }
+        return result;
+    }
+
+    private static void addIfMatches(EmployeeIndex index, Filter filter, int row, List<Employee> result) {
+        if (filter.matches(index, row)) {
+            result.add(index.employee(row));
+        }
+    }
+
+    private EmployeeIndex index(EmployeeSnapshot snapshot) {
+        EmployeeIndex index = current.get();
+        if (index != null && index.version() == snapshot.version()) {
+            return index;
+        }
+        EmployeeIndex built = EmployeeIndex.build(snapshot);
+        meterRegistry.counter(QUERIES_METRIC + ".index.builds").increment();
+        current.accumulateAndGet(built, (existing, added) ->
+                existing == null || added.version() >= existing.version() ? added : existing);
+        return built;
+    }
+
+    private int limitOf(EmployeeQuery query) {
+        if (query.getLimit() == null) {
+            return limits.getDefaultLimit();
+        }
+        if (query.getLimit() < 1) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        if (query.getLimit() > limits.getMaxLimit()) {
+            throw new IllegalArgumentException("Limit cannot be greater than " + limits.getMaxLimit());
+        }
+        return query.getLimit();
+    }
+
+    /**
+     * A query's filters resolved against one index: ranges as slices of the sorted columns (the whole column when the
+     * field is not filtered on) and titles and email domain as the rows' bitmaps.
+     */
+    private static final class Filter {
+        private final EmployeeQuery.Range salary;
+        private final EmployeeQuery.Range age;
+        private final int salaryFrom;
+        private final int salaryTo;
+        private final int ageFrom;
+        private final int ageTo;
+        private final BitSet[] titles;
+        private final BitSet domain;
+        private final String name;
+
+        private Filter(EmployeeIndex index, EmployeeQuery.Range salary, EmployeeQuery.Range age, BitSet[] titles,
+                BitSet domain, String name) {
+            this.salary = salary;
+            this.age = age;
+            this.salaryFrom = salary == null ? 0 : index.salaries().lowerBound(salary.getMin());
+            this.salaryTo = salary == null
+                    ? index.salaries().size()
+                    : Math.max(salaryFrom, index.salaries().upperBound(salary.getMax()));
+            this.ageFrom = age == null ? 0 : index.ages().lowerBound(age.getMin());
+            this.ageTo = age == null ? index.ages().size() : Math.max(ageFrom, index.ages().upperBound(age.getMax()));
+            this.titles = titles;
+            this.domain = domain;
+            this.name = name;
+        }
+
+        static Filter compile(EmployeeIndex index, EmployeeQuery query) {
+            EmployeeQuery.Range salary = checked("Salary", query.getSalary());
+            EmployeeQuery.Range age = checked("Age", query.getAge());
+
+            BitSet[] titles = null;
+            if (query.getTitles() != null && !query.getTitles().isEmpty()) {
+                titles = query.getTitles().stream()
+                        .filter(title -> title != null)
+                        .map(index::title)
+                        .filter(rows -> rows != null)
+                        .distinct()
+                        .toArray(BitSet[]::new);
+            }
+            BitSet domain = null;
+            if (query.getEmailDomain() != null && !query.getEmailDomain().isBlank()) {
+                domain = index.domain(query.getEmailDomain());
+                if (domain == null) {
+                    domain = NO_ROWS;
+                }
+            }
+            String name = query.getName() == null || query.getName().isBlank()
+                    ? null
+                    : query.getName().toLowerCase(Locale.ROOT);
+            return new Filter(index, salary, age, titles, domain, name);
+        }
+
+        private static EmployeeQuery.Range checked(String field, EmployeeQuery.Range range) {
+            if (range == null || (range.getMin() == null && range.getMax() == null)) {
+                return null;
+            }
+            if (range.getMin() != null && range.getMax() != null && range.getMin() > range.getMax()) {
+                throw new IllegalArgumentException(field + " min cannot be greater than max");
+            }
+            return range;
+        }
+
+        boolean matches(EmployeeIndex index, int row) {
+            Employee employee = index.employee(row);
+            if (salary != null && !within(employee.getEmployeeSalary(), salary)) {
+                return false;
+            }
+            if (age != null && !within(employee.getEmployeeAge(), age)) {
+                return false;
+            }
+            if (titles != null && !anySet(titles, row)) {
+                return false;
+            }
+            if (domain != null && !domain.get(row)) {
+                return false;
+            }
+            return name == null || (employee.getEmployeeName() != null
+                    && employee.getEmployeeName().toLowerCase(Locale.ROOT).contains(name));
+        }
+
+        boolean hasBitmaps() {
+            return titles != null || domain != null;
+        }
+
+        int bitmapCount() {
+            return (titles == null ? 0 : titles.length) + (domain == null ? 0 : 1);
+        }
+
+        /*
+         * Employees have one title each, so the title bitmaps are disjoint and their sizes add up.
+         */
+        double bitmapRows(int size) {
+            double rows = size;
+            if (titles != null) {
+                long titleRows = 0;
+                for (BitSet title : titles) {
+                    titleRows += title.cardinality();
+                }
+                rows = titleRows;
+            }
+            if (domain != null) {
+                rows = rows * domain.cardinality() / size;
+            }
+            return rows;
+        }
+
+        BitSet bitmap() {
+            BitSet rows = null;
+            if (titles != null) {
+                rows = new BitSet();
+                for (BitSet title : titles) {
+                    rows.or(title);
+                }
+            }
+            if (domain != null) {
+                if (rows == null) {
+                    return domain;
+                }
+                rows.and(domain);
+            }
+            return rows;
+        }
+
+        private static boolean within(Integer value, EmployeeQuery.Range range) {
+            return value != null
+                    && (range.getMin() == null || value >= range.getMin())
+                    && (range.getMax() == null || value <= range.getMax());
+        }
+
+        private static boolean anySet(BitSet[] bitmaps, int row) {
+            for (BitSet bitmap : bitmaps) {
+                if (bitmap.get(row)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record SortKey(String field, boolean descending) {
+
+        static List<SortKey> parse(List<String> keys) {
+            if (keys == null) {
+                return List.of();
+            }
+            List<SortKey> sort = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                boolean descending = key != null && key.startsWith("-");
+                SortKey sortKey = new SortKey(descending ? key.substring(1) : key, descending);
+                sortKey.order();
+                sort.add(sortKey);
+            }
+            return sort;
+        }
+
+        static Comparator<Employee> comparator(List<SortKey> sort) {
+            Comparator<Employee> comparator = sort.get(0).order();
+            for (int i = 1; i < sort.size(); i++) {
+                comparator = comparator.thenComparing(sort.get(i).order());
+            }
+            return comparator;
+        }
+
+        private Comparator<Employee> order() {
+            if (field == null) {
+                throw new IllegalArgumentException("Sort key cannot be null");
+            }
+            return switch (field) {
+                case "name" -> order(Employee::getEmployeeName, String.CASE_INSENSITIVE_ORDER);
+                case "title" -> order(Employee::getEmployeeTitle, String.CASE_INSENSITIVE_ORDER);
+                case "email" -> order(Employee::getEmployeeEmail, String.CASE_INSENSITIVE_ORDER);
+                case "salary" -> order(Employee::getEmployeeSalary, Comparator.<Integer>naturalOrder());
+                case "age" -> order(Employee::getEmployeeAge, Comparator.<Integer>naturalOrder());
+                default -> throw new IllegalArgumentException("Unknown sort key: " + field);
+            };
+        }
+
+        /*
+         * Employees without the field sort last in either direction.
+         */
+        private <T> Comparator<Employee> order(Function<Employee, T> value, Comparator<T> natural) {
+            return Comparator.comparing(value, Comparator.nullsLast(descending ? natural.reversed() : natural));
+        }
+    }
+}
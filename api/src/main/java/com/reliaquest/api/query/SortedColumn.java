@@ -0,0 +1,90 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.response.Employee;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One integer field of every employee, as the rows holding a value sorted by value (then by row) alongside the sorted
+ * values, so the rows within a range are the slice between two binary searches. Rows without a value are kept apart.
+ */
+final class SortedColumn {
+    private final int[] rows;
+    private final int[] values;
+    private final int[] nullRows;
+
+    private SortedColumn(int[] rows, int[] values, int[] nullRows) {
+        this.rows = rows;
+        this.values = values;
+        this.nullRows = nullRows;
+    }
+
+    static SortedColumn of(List<Employee> employees, Function<Employee, Integer> field) {
+        // value in the high half and row in the low half, so one primitive sort orders by value then row
+        long[] keys = new long[employees.size()];
+        int[] nullRows = new int[employees.size()];
+        int count = 0;
+        int nulls = 0;
+        for (int row = 0; row < employees.size(); row++) {
+            Integer value = field.apply(employees.get(row));
+            if (value == null) {
+                nullRows[nulls++] = row;
+            } else {
+                keys[count++] = (long) value << 32 | row;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        int[] rows = new int[count];
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = (int) keys[i];
+            values[i] = (int) (keys[i] >> 32);
+        }
+        return new SortedColumn(rows, values, Arrays.copyOf(nullRows, nulls));
+    }
+
+    /** Rows with a value, in value order. */
+    int row(int position) {
+        return rows[position];
+    }
+
+    int value(int position) {
+        return values[position];
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    /** Rows without a value, in row order. */
+    int[] nullRows() {
+        return nullRows;
+    }
+
+    /** Position of the first value at least {@code min}, or of the first value when {@code min} is {@code null}. */
+    int lowerBound(Integer min) {
+        return min == null ? 0 : search(min);
+    }
+
+    /** Position after the last value at most {@code max}, or after the last value when {@code max} is {@code null}. */
+    int upperBound(Integer max) {
+        return max == null || max == Integer.MAX_VALUE ? values.length : search(max + 1);
+    }
+
+    private int search(int value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,317 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.cache.EmployeeIdDigest;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.config.NameSearchLimits;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Ranked name search over a {@link NameTrie} of the words in every employee's name, case and accent folded. A
+ * {@code prefix} search matches names with a word starting with each query word, for type-ahead; a {@code fuzzy}
+ * search matches names with a word within a few edits of each query word, for mistyped names. Matches are ranked by
+ * edits, then by characters beyond what was typed, then by name length and name, and only the top {@code limit} are
+ * kept: a prefix search walks the trie shortest word first and stops as soon as longer words can no longer rank.
+ *
+ * <p>Like {@link com.reliaquest.api.analytics.SalaryAnalytics}, the trie is built from the employee list on first use,
+ * updated from every {@link EmployeeChangeEvent}, and rebuilt when the ids it holds no longer match the list's.
+ */
+@Component
+public class NameSearchIndex {
+    /** Most edits a fuzzy search may allow per word. */
+    private static final int MAX_EDITS = 2;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::edits)
+            .thenComparingInt(Match::extraCharacters)
+            .thenComparingInt(match -> match.entry().nameLength())
+            .thenComparing(match -> match.entry().employee().getEmployeeName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(match -> match.entry().employee().getId());
+
+    private enum Mode {
+        PREFIX,
+        FUZZY
+    }
+
+    private final NameSearchLimits limits;
+    private final MeterRegistry meterRegistry;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<UUID, Entry> entries;
+    private NameTrie trie;
+    private final EmployeeIdDigest digest = new EmployeeIdDigest();
+
+    public NameSearchIndex(NameSearchLimits limits, MeterRegistry meterRegistry) {
+        this.limits = limits;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        UUID id = event.employee().getId();
+        lock.writeLock().lock();
+        try {
+            if (entries == null || id == null) {
+                return;
+            }
+            if (event.type() == EmployeeChangeEvent.Type.CREATED) {
+                if (!entries.containsKey(id)) {
+                    add(event.employee());
+                    digest.added(id);
+                }
+            } else {
+                Entry removed = entries.remove(id);
+                if (removed != null) {
+                    for (String word : removed.words()) {
+                        trie.remove(word, id);
+                    }
+                    digest.removed(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The best-ranked employees in {@code snapshot} whose name matches every word of {@code query}.
+     *
+     * @param mode {@code prefix} (the default) or {@code fuzzy}
+     * @param maxEdits edits allowed per word in a fuzzy search, from 0 to 2; by default it depends on the word's length
+     * @throws IllegalArgumentException when the query has no words or an argument is out of range
+     */
+    public List<Employee> search(EmployeeSnapshot snapshot, String query, String mode, Integer maxEdits, Integer limit) {
+        String[] words = query == null ? new String[0] : words(query);
+        if (words.length == 0) {
+            throw new IllegalArgumentException("Search query cannot be blank");
+        }
+        Mode searchMode = modeOf(mode);
+        if (maxEdits != null && (maxEdits < 0 || maxEdits > MAX_EDITS)) {
+            throw new IllegalArgumentException("Max edits must be between 0 and " + MAX_EDITS);
+        }
+        int resultLimit = limitOf(limit);
+        int[] edits = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            edits[i] = searchMode == Mode.PREFIX ? 0 : maxEdits != null ? maxEdits : defaultEdits(words[i]);
+        }
+        meterRegistry.counter("employee.search", "mode", searchMode.name().toLowerCase(Locale.ROOT)).increment();
+
+        synchronise(snapshot);
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Match> worstFirst = new PriorityQueue<>(resultLimit + 1, RANKING.reversed());
+            // the longest word has the fewest matches, so it drives the walk and the others are checked per candidate
+            int driver = 0;
+            for (int i = 1; i < words.length; i++) {
+                if (words[i].length() > words[driver].length()) {
+                    driver = i;
+                }
+            }
+
+            if (searchMode == Mode.PREFIX) {
+                Set<UUID> seen = new HashSet<>();
+                trie.visitPrefix(words[driver], (ids, extraCharacters) -> {
+                    for (UUID id : ids) {
+                        if (seen.add(id)) {
+                            offer(worstFirst, match(entries.get(id), words, edits, searchMode), resultLimit);
+                        }
+                    }
+                    return worstFirst.size() < resultLimit || extraCharacters + 1 <= worstFirst.peek().extraCharacters();
+                });
+            } else {
+                Set<UUID> candidates = new HashSet<>();
+                trie.visitFuzzy(words[driver], edits[driver], (ids, distance) -> candidates.addAll(ids));
+                for (UUID id : candidates) {
+                    offer(worstFirst, match(entries.get(id), words, edits, searchMode), resultLimit);
+                }
+            }
+
+            Employee[] result = new Employee[worstFirst.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = worstFirst.poll().entry().employee();
+            }
+            return List.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The folded words of {@code text}: accents stripped, lower-cased and split on anything but letters and digits.
+     */
+    static String[] words(String text) {
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(folded).filter(word -> !word.isEmpty()).toArray(String[]::new);
+    }
+
+    /**
+     * Levenshtein distance between {@code a} and {@code b}, or {@code maxEdits + 1} once it is known to exceed it.
+     */
+    static int distance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int best = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j] + 1, current[j - 1] + 1));
+                best = Math.min(best, current[j]);
+            }
+            if (best > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+
+    /*
+     * Scores every query word against its best-matching word of the name; null when some query word matches none.
+     */
+    private static Match match(Entry entry, String[] words, int[] maxEdits, Mode mode) {
+        int edits = 0;
+        int extraCharacters = 0;
+        for (int i = 0; i < words.length; i++) {
+            int bestEdits = Integer.MAX_VALUE;
+            int bestExtra = Integer.MAX_VALUE;
+            for (String word : entry.words()) {
+                int wordEdits;
+                if (mode == Mode.PREFIX) {
+                    wordEdits = word.startsWith(words[i]) ? 0 : 1;
+                } else {
+                    wordEdits = distance(words[i], word, maxEdits[i]);
+                }
+                int wordExtra = Math.abs(word.length() - words[i].length());
+                if (wordEdits <= maxEdits[i]
+                        && (wordEdits < bestEdits || (wordEdits == bestEdits && wordExtra < bestExtra))) {
+                    bestEdits = wordEdits;
+                    bestExtra = wordExtra;
+                }
+            }
+            if (bestEdits == Integer.MAX_VALUE) {
+                return null;
+            }
+            edits += bestEdits;
+            extraCharacters += bestExtra;
+        }
+        return new Match(entry, edits, extraCharacters);
+    }
+
+    private static void offer(PriorityQueue<Match> worstFirst, Match match, int limit) {
+        if (match == null) {
+            return;
+        }
+        worstFirst.offer(match);
+        if (worstFirst.size() > limit) {
+            worstFirst.poll();
+        }
+    }
+
+    /*
+     * Edits allowed per word when a fuzzy search does not say: none up to 2 letters, 1 up to 5, then 2.
+     */
+    private static int defaultEdits(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : MAX_EDITS;
+    }
+
+    private static Mode modeOf(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return Mode.PREFIX;
+        }
+        for (Mode candidate : Mode.values()) {
+            if (candidate.name().equalsIgnoreCase(mode.trim())) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Search mode must be prefix or fuzzy");
+    }
+
+    private int limitOf(Integer limit) {
+        if (limit == null) {
+            return limits.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        if (limit > limits.getMaxLimit()) {
+            throw new IllegalArgumentException("Limit cannot be greater than " + limits.getMaxLimit());
+        }
+        return limit;
+    }
+
+    private void synchronise(EmployeeSnapshot snapshot) {
+        lock.readLock().lock();
+        try {
+            if (entries != null && digest.matches(snapshot)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (entries != null && digest.matches(snapshot)) {
+                return;
+            }
+            entries = new HashMap<>();
+            trie = new NameTrie();
+            for (Employee employee : snapshot.employees()) {
+                if (employee.getId() != null && !entries.containsKey(employee.getId())) {
+                    add(employee);
+                }
+            }
+            digest.rebuilt(snapshot);
+            meterRegistry.counter("employee.search.index.rebuilds").increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Employee employee) {
+        String[] words = employee.getEmployeeName() == null ? new String[0] : words(employee.getEmployeeName());
+        entries.put(employee.getId(), new Entry(employee, words));
+        for (String word : words) {
+            trie.add(word, employee.getId());
+        }
+    }
+
+    private record Entry(Employee employee, String[] words) {
+
+        int nameLength() {
+            return employee.getEmployeeName() == null ? 0 : employee.getEmployeeName().length();
+        }
+    }
+
+    private record Match(Entry entry, int edits, int extraCharacters) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.reliaquest.api.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Trie of name tokens, each ending at a node that lists the employees whose name contains it. Children are kept in
+ * sorted arrays, and nodes left with neither employees nor children are pruned on removal. Not thread-safe.
+ */
+final class NameTrie {
+    private final Node root = new Node();
+
+    void add(String token, UUID id) {
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.childOrCreate(token.charAt(i));
+        }
+        if (node.ids == null) {
+            node.ids = new HashSet<>(2);
+        }
+        node.ids.add(id);
+    }
+
+    void remove(String token, UUID id) {
+        remove(root, token, 0, id);
+    }
+
+    /**
+     * Visits the tokens starting with {@code prefix} shortest first, passing each token's employees and how many
+     * characters it has beyond the prefix. The visitor returns {@code false} once it needs no longer tokens; tokens as
+     * long as the one it stopped at are still visited.
+     */
+    void visitPrefix(String prefix, PrefixVisitor visitor) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return;
+        }
+
+        Queue<Node> level = new ArrayDeque<>();
+        level.add(node);
+        for (int extra = 0; !level.isEmpty(); extra++) {
+            boolean wantsMore = true;
+            Queue<Node> next = new ArrayDeque<>();
+            for (Node current : level) {
+                if (current.ids != null && !visitor.visit(current.ids, extra)) {
+                    wantsMore = false;
+                }
+                for (int i = 0; i < current.size; i++) {
+                    next.add(current.children[i]);
+                }
+            }
+            if (!wantsMore) {
+                return;
+            }
+            level = next;
+        }
+    }
+
+    /**
+     * Visits the tokens within {@code maxEdits} insertions, deletions or substitutions of {@code target}, passing each
+     * token's employees and its edit distance. The trie is walked with one row of the edit distance table per node,
+     * which steps the Levenshtein automaton of {@code target} one character at a time, and a branch is abandoned as
+     * soon as no completion of it can come within {@code maxEdits}.
+     */
+    void visitFuzzy(String target, int maxEdits, FuzzyVisitor visitor) {
+        int[] firstRow = new int[target.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        if (root.ids != null && target.length() <= maxEdits) {
+            visitor.visit(root.ids, target.length());
+        }
+        visitFuzzy(root, firstRow, target, maxEdits, visitor);
+    }
+
+    private static void visitFuzzy(Node node, int[] previousRow, String target, int maxEdits, FuzzyVisitor visitor) {
+        for (int c = 0; c < node.size; c++) {
+            char key = node.keys[c];
+            Node child = node.children[c];
+            int[] row = new int[previousRow.length];
+            row[0] = previousRow[0] + 1;
+            int best = row[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = previousRow[i - 1] + (target.charAt(i - 1) == key ? 0 : 1);
+                row[i] = Math.min(substitution, Math.min(previousRow[i] + 1, row[i - 1] + 1));
+                best = Math.min(best, row[i]);
+            }
+            int distance = row[row.length - 1];
+            if (child.ids != null && distance <= maxEdits) {
+                visitor.visit(child.ids, distance);
+            }
+            if (best <= maxEdits) {
+                visitFuzzy(child, row, target, maxEdits, visitor);
+            }
+        }
+    }
+
+    private static boolean remove(Node node, String token, int depth, UUID id) {
+        if (depth == token.length()) {
+            if (node.ids != null) {
+                node.ids.remove(id);
+                if (node.ids.isEmpty()) {
+                    node.ids = null;
+                }
+            }
+        } else {
+            Node child = node.child(token.charAt(depth));
+            if (child != null && remove(child, token, depth + 1, id)) {
+                node.removeChild(token.charAt(depth));
+            }
+        }
+        return node.ids == null && node.size == 0;
+    }
+
+    @FunctionalInterface
+    interface PrefixVisitor {
+        boolean visit(Set<UUID> ids, int extraCharacters);
+    }
+
+    @FunctionalInterface
+    interface FuzzyVisitor {
+        void visit(Set<UUID> ids, int edits);
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private Set<UUID> ids;
+
+        private Node child(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node childOrCreate(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertAt = -position - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            keys[insertAt] = key;
+            children[insertAt] = child;
+            size++;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(children, position + 1, children, position, size - position - 1);
+            size--;
+            children[size] = null;
+        }
+    }
+}
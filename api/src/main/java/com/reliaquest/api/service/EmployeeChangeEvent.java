@@ -0,0 +1,21 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.response.Employee;
+
+/**
+ * An employee was created or deleted. Published once the local caches reflect the change; {@code origin} tells
+ * whether this instance made the change, a peer api instance reported it, or a refresh of the upstream list found it.
+ */
+public record EmployeeChangeEvent(Type type, Employee employee, Origin origin) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    public enum Origin {
+        LOCAL,
+        PEER,
+        UPSTREAM
+    }
+}
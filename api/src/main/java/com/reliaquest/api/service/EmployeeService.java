@@ -1,21 +1,36 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.model.request.EmployeeCreation;
+import com.reliaquest.api.model.request.EmployeeQuery;
 import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.EmployeeLookupResult;
+import com.reliaquest.api.model.response.SalaryStatistics;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public interface EmployeeService {
     List<Employee> getAllEmployees();
 
     List<Employee> getEmployeesByNameSearch(String searchString);
 
-    Employee getEmployeeById(String id);
+    List<Employee> searchEmployees(String query, String mode, Integer maxEdits, Integer limit);
+
+    List<Employee> queryEmployees(EmployeeQuery query);
+
+    Employee getEmployeeById(UUID id);
+
+    List<EmployeeLookupResult> getEmployeesByIds(List<String> ids);
 
     Integer getHighestSalaryOfEmployees();
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    SalaryStatistics getSalaryStatistics(List<Double> percentiles);
+
+    Map<String, SalaryStatistics> getSalaryStatisticsByTitle();
+
     Employee createEmployee(EmployeeCreation employeeInput);
 
-    String deleteEmployeeById(String id);
+    String deleteEmployeeById(UUID id);
 }
\ No newline at end of file
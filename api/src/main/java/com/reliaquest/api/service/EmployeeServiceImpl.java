@@ -1,59 +1,109 @@
 package com.reliaquest.api.service;
 
-import com.reliaquest.api.config.EmployeeMock;
+import com.reliaquest.api.analytics.SalaryAnalytics;
+import com.reliaquest.api.cache.EmployeeIdCache;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.config.BatchLookup;
 import com.reliaquest.api.model.request.EmployeeCreation;
 import com.reliaquest.api.model.request.EmployeeDeletion;
+import com.reliaquest.api.model.request.EmployeeQuery;
 import com.reliaquest.api.model.response.*;
+import com.reliaquest.api.query.EmployeeQueryEngine;
+import com.reliaquest.api.search.NameSearchIndex;
+import com.reliaquest.api.util.UuidUtil;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.ResourceNotFoundException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 
 import java.util.*;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpClientErrorException.*;
-import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Service
+@Observed(name = "employee.service")
 public class EmployeeServiceImpl implements EmployeeService {
-    private final EmployeeMock employeeMock;
+    private final EmployeeClient employeeClient;
+
+    private final EmployeeSnapshotCache snapshotCache;
+
+    private final EmployeeIdCache employeeIdCache;
+
+    private final BatchLookup batchLookup;
+
+    private final EmployeeQueryEngine queryEngine;
+
+    private final SalaryAnalytics salaryAnalytics;
+
+    private final NameSearchIndex nameSearchIndex;
 
-    private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ExecutorService batchLookupExecutor;
 
     @Autowired
-    public EmployeeServiceImpl(RestTemplate restTemplate, EmployeeMock employeeMock) {
-        this.restTemplate = restTemplate;
-        this.employeeMock = employeeMock;
+    public EmployeeServiceImpl(
+            EmployeeClient employeeClient,
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeIdCache employeeIdCache,
+            BatchLookup batchLookup,
+            EmployeeQueryEngine queryEngine,
+            SalaryAnalytics salaryAnalytics,
+            NameSearchIndex nameSearchIndex,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.employeeClient = employeeClient;
+        this.snapshotCache = snapshotCache;
+        this.employeeIdCache = employeeIdCache;
+        this.batchLookup = batchLookup;
+        this.queryEngine = queryEngine;
+        this.salaryAnalytics = salaryAnalytics;
+        this.nameSearchIndex = nameSearchIndex;
+        this.eventPublisher = eventPublisher;
+
+        AtomicInteger threads = new AtomicInteger();
+        ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+        this.batchLookupExecutor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(batchLookup.getParallelism(), runnable -> {
+                    Thread thread = new Thread(runnable, "employee-batch-lookup-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                contextSnapshots::captureAll);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchLookupExecutor.shutdownNow();
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        List<Employee> employees = new ArrayList<>();
-
-        List<EmployeeServer> allEmployees = fetchAllEmployees();
-        for (EmployeeServer employeeData : allEmployees) {
-            Employee employee = convertToEmployee(employeeData);
-            employees.add(employee);
-        }
-        return employees;
+        return fetchAllEmployees();
     }
 
     @Override
     public List<Employee> getEmployeesByNameSearch(String searchString) {
         List<Employee> employees = new ArrayList<>();
-        List<EmployeeServer> allEmployees = fetchAllEmployees();
+        List<Employee> allEmployees = fetchAllEmployees();
+        String search = searchString.toLowerCase();
 
-        for (EmployeeServer employeeData : allEmployees) {
-            if (employeeData.getEmployeeName().toLowerCase().contains(searchString.toLowerCase())) {
-                Employee employee = convertToEmployee(employeeData);
+        for (Employee employee : allEmployees) {
+            if (employee.getEmployeeName().toLowerCase().contains(search)) {
                 employees.add(employee);
             }
         }
@@ -61,100 +111,124 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    public Employee getEmployeeById(String id) {
-        EmployeeApiResponse response;
+    public List<Employee> searchEmployees(String query, String mode, Integer maxEdits, Integer limit) {
+        return nameSearchIndex.search(snapshotCache.get(), query, mode, maxEdits, limit);
+    }
 
-        try {
-            response = makeHttpRequest(
-                    employeeMock.getUri() + "/" + id,
-                    HttpMethod.GET,
-                    null,
-                    EmployeeApiResponse.class,
-                    null,
-                    null
-            );
-        } catch (ResourceNotFoundException ex) {
-            throw new EmployeeNotFoundException("Employee with ID " + id + " not found.");
+    @Override
+    public List<Employee> queryEmployees(EmployeeQuery query) {
+        return queryEngine.query(snapshotCache.get(), query);
+    }
+
+    @Override
+    public Employee getEmployeeById(UUID id) {
+        return employeeIdCache.get(id, this::fetchEmployee)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee with ID " + id + " not found."));
+    }
+
+    /**
+     * Resolves every id it can from the local cache and fetches the rest from the upstream in parallel, bounded by
+     * {@code employee.batch-lookup.parallelism}. Results are in request order; a failed id does not fail the batch.
+     */
+    @Override
+    public List<EmployeeLookupResult> getEmployeesByIds(List<String> ids) {
+        if (ids.size() > batchLookup.getMaxIds()) {
+            throw new IllegalArgumentException("At most " + batchLookup.getMaxIds() + " ids can be looked up at once");
         }
 
-        if (response != null && response.getData() != null) {
-            log.info("Successfully fetched employee: {}", response);
+        Map<String, UUID> uuids = new HashMap<>();
+        for (String id : ids) {
+            UUID uuid = UuidUtil.parseUUID(id);
+            if (uuid != null) {
+                uuids.put(id, uuid);
+            }
+        }
 
-            EmployeeServer employeeDto = response.getData();
-            return convertToEmployee(employeeDto);
-        } else {
-            throw new EmployeeNotFoundException("Employee with ID " + id + " not found.");
+        Map<UUID, Optional<Employee>> cached = employeeIdCache.getAllPresent(uuids.values());
+        Map<UUID, CompletableFuture<Optional<Employee>>> fetches = new HashMap<>();
+        for (UUID uuid : uuids.values()) {
+            if (!cached.containsKey(uuid) && !fetches.containsKey(uuid)) {
+                fetches.put(uuid, CompletableFuture.supplyAsync(
+                        () -> employeeIdCache.get(uuid, this::fetchEmployee), batchLookupExecutor));
+            }
         }
+        log.debug("Batch lookup of {} ids: {} cached, {} fetched", ids.size(), cached.size(), fetches.size());
+
+        List<EmployeeLookupResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            UUID uuid = uuids.get(id);
+            if (uuid == null) {
+                results.add(EmployeeLookupResult.failed(id, 400, "Invalid UUID format for Employee ID: " + id));
+                continue;
+            }
+            try {
+                Optional<Employee> employee = cached.containsKey(uuid) ? cached.get(uuid) : fetches.get(uuid).join();
+                results.add(employee
+                        .map(found -> EmployeeLookupResult.found(id, found))
+                        .orElseGet(() -> EmployeeLookupResult.failed(id, 404, "Employee with ID " + id + " not found.")));
+            } catch (CompletionException ex) {
+                results.add(lookupFailure(id, ex.getCause()));
+            }
+        }
+        return results;
     }
 
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        List<EmployeeServer> allEmployees = fetchAllEmployees();
-
-        return allEmployees.stream()
-                .map(EmployeeServer::getEmployeeSalary)
-                .filter(Objects::nonNull)
-                .mapToInt(Integer::intValue)
-                .max()
-                .orElse(-1);
+        return salaryAnalytics.highestSalary(snapshotCache.get());
     }
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        List<EmployeeServer> allEmployees = fetchAllEmployees();
-
-        PriorityQueue<EmployeeServer> minHeap = new PriorityQueue<>((a, b) -> Integer.compare(a.getEmployeeSalary(), b.getEmployeeSalary()));
-        List<String> topTenNames = new ArrayList<>();
-
-        for (EmployeeServer employeeData : allEmployees) {
-            if (employeeData.getEmployeeSalary() == null) continue;
-
-            minHeap.offer(employeeData);
-            if (minHeap.size() > 10)
-                minHeap.poll();
-        }
+        List<String> topTenNames = salaryAnalytics.topEarnerNames(snapshotCache.get(), 10);
+        log.debug("Computed {} highest earning employee names", topTenNames.size());
+        return topTenNames;
+    }
 
-        while (!minHeap.isEmpty())
-            topTenNames.add(minHeap.poll().getEmployeeName());
+    @Override
+    public SalaryStatistics getSalaryStatistics(List<Double> percentiles) {
+        return salaryAnalytics.statistics(snapshotCache.get(), percentiles);
+    }
 
-        log.info("Top ten highest earning employees: {}", topTenNames);
-        return topTenNames;
+    @Override
+    public Map<String, SalaryStatistics> getSalaryStatisticsByTitle() {
+        return salaryAnalytics.statisticsByTitle(snapshotCache.get());
     }
 
     @Override
     public Employee createEmployee(EmployeeCreation employeeInput) {
-        EmployeeApiResponse response = makeHttpRequest(
-                employeeMock.getUri(),
-                HttpMethod.POST,
-                null,
-                EmployeeApiResponse.class,
-                null,
-                employeeInput
-        );
+        EmployeeApiResponse response = employeeClient.createEmployee(employeeInput);
 
         if (response != null && response.getData() != null) {
-            log.info("Successfully created employee: {}", response.getData());
-            return convertToEmployee(response.getData());
+            log.info("Successfully created employee with ID: {}", response.getData().getId());
+            snapshotCache.applyCreated(response.getData());
+            employeeIdCache.put(response.getData());
+            eventPublisher.publishEvent(new EmployeeChangeEvent(
+                    EmployeeChangeEvent.Type.CREATED, response.getData(), EmployeeChangeEvent.Origin.LOCAL));
+            return response.getData();
         } else {
-            throw new RuntimeException("Failed to create employee as the response was null.");
+            throw new RuntimeException("Failed to create employee. Response was null or empty.");
         }
     }
 
     @Override
-    public String deleteEmployeeById(String id) {
-        Employee employee = getEmployeeById(id);
-
-        EmployeeDeleteApiResponse response = makeHttpRequest(
-                employeeMock.getUri(),
-                HttpMethod.DELETE,
-                null,
-                EmployeeDeleteApiResponse.class,
-                null,
-                new EmployeeDeletion(employee.getEmployeeName())
-        );
-
-        if (response != null && response.getData() != null) {
-            log.info("Successfully deleted employee: {}", response.getData());
+    public String deleteEmployeeById(UUID id) {
+        // the upstream deletes by name, so the name must be current rather than whatever the id cache holds
+        Employee employee = fetchEmployee(id).orElseThrow(() -> {
+            employeeIdCache.invalidate(id);
+            return new EmployeeNotFoundException("Employee with ID " + id + " not found.");
+        });
+        employeeIdCache.put(employee);
+
+        EmployeeDeleteApiResponse response = employeeClient.deleteEmployee(
+                employee.getId(), new EmployeeDeletion(employee.getEmployeeName(), employee.getId()));
+
+        if (response != null && Boolean.TRUE.equals(response.getData())) {
+            log.info("Successfully deleted employee with ID: {}", id);
+            snapshotCache.applyDeleted(employee.getId());
+            employeeIdCache.invalidate(employee.getId());
+            eventPublisher.publishEvent(new EmployeeChangeEvent(
+                    EmployeeChangeEvent.Type.DELETED, employee, EmployeeChangeEvent.Origin.LOCAL));
             return employee.getEmployeeName();
         } else {
             log.warn("Failed to delete employee with ID: {}", id);
@@ -162,62 +236,34 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
-    private List<EmployeeServer> fetchAllEmployees() {
-        EmployeeListApiResponse response = makeHttpRequest(
-                employeeMock.getUri(),
-                HttpMethod.GET,
-                null,
-                EmployeeListApiResponse.class,
-                null,
-                null
-        );
+    private Optional<Employee> fetchEmployee(UUID id) {
+        EmployeeApiResponse response;
 
-        if (response == null || response.getData() == null) {
-            log.warn("No employees found.");
-            return List.of();
+        try {
+            response = employeeClient.getEmployee(id);
+        } catch (ResourceNotFoundException ex) {
+            return Optional.empty();
         }
 
-        log.info("Successfully fetched {} employees", response.getData().size());
-        return response.getData();
+        if (response != null && response.getData() != null) {
+            log.debug("Successfully fetched employee with ID: {}", id);
+            return Optional.of(response.getData());
+        }
+        return Optional.empty();
     }
 
-    private Employee convertToEmployee(EmployeeServer employeeData) {
-        return Employee.builder()
-                .id(employeeData.getId())
-                .employeeEmail(employeeData.getEmployeeEmail())
-                .employeeName(employeeData.getEmployeeName())
-                .employeeSalary(employeeData.getEmployeeSalary())
-                .employeeTitle(employeeData.getEmployeeTitle())
-                .employeeAge(employeeData.getEmployeeAge())
-                .build();
+    private List<Employee> fetchAllEmployees() {
+        return snapshotCache.get().employees();
     }
 
-    private <T> T makeHttpRequest(
-            String url,
-            HttpMethod httpMethod,
-            HttpHeaders headers,
-            Class<T> responseType,
-            Map<String, ?> uriVariables,
-            Object requestBody
-    ) throws HttpClientErrorException {
-        HttpEntity<?> entity = (requestBody != null) ? new HttpEntity<>(requestBody, headers)
-                : new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<T> response = restTemplate.exchange(
-                    url,
-                    httpMethod,
-                    entity,
-                    responseType,
-                    uriVariables != null ? uriVariables : Map.of()
-            );
-            return response.getBody();
-        } catch (TooManyRequests ex) {
-            throw new TooManyRequestsException("Too many requests made to the employee service. Please try again later.");
-        } catch (NotFound ex) {
-            throw new ResourceNotFoundException("Resource not found at URL: " + url);
-        } catch (Exception ex) {
-            throw new RuntimeException("An error occurred while making the HTTP request: " + ex.getMessage(), ex);
+    private EmployeeLookupResult lookupFailure(String id, Throwable ex) {
+        if (ex instanceof TooManyRequestsException) {
+            return EmployeeLookupResult.failed(id, 429, ex.getMessage());
+        }
+        if (ex instanceof UpstreamUnavailableException) {
+            return EmployeeLookupResult.failed(id, 503, ex.getMessage());
         }
+        log.warn("Lookup of employee with ID {} failed: {}", id, ex.getMessage());
+        return EmployeeLookupResult.failed(id, 500, "An unexpected error occurred: " + ex.getMessage());
     }
 }
\ No newline at end of file
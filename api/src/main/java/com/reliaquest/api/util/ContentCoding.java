@@ -0,0 +1,129 @@
+package com.reliaquest.api.util;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+import io.airlift.compress.zstd.ZstdOutputStream;
+import org.springframework.util.StringUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP content codings this service can produce and consume. zstd compresses JSON about as well as gzip at a fraction
+ * of the CPU cost; gzip is the fallback every client understands.
+ * <p>
+ * The api and the mock server each carry a copy of this enum; the copies are kept identical apart from package and
+ * formatting, so a fix to one is made to both.
+ */
+public enum ContentCoding {
+    GZIP("gzip") {
+        @Override
+        OutputStream encoder(OutputStream out, int level) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+    ZSTD("zstd") {
+        @Override
+        OutputStream encoder(OutputStream out, int level) throws IOException {
+            return new ZstdOutputStream(out);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) {
+            return new ZstdInputStream(in);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Wraps {@code out} in a compressor. Closing the compressor writes the trailer but leaves {@code out} open.
+     * {@code level} is the deflate level for gzip and is ignored by zstd.
+     */
+    public OutputStream encode(OutputStream out, int level) throws IOException {
+        return encoder(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, level);
+    }
+
+    abstract OutputStream encoder(OutputStream out, int level) throws IOException;
+
+    public abstract InputStream decode(InputStream in) throws IOException;
+
+    /**
+     * The coding named by a {@code Content-Encoding} value, or {@code null} if it is not one of these.
+     */
+    public static ContentCoding fromToken(String token) {
+        for (ContentCoding coding : values()) {
+            if (coding.token.equalsIgnoreCase(token == null ? "" : token.trim())) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The first of {@code preferred} that {@code acceptEncoding} allows, or {@code null} if none is acceptable.
+     */
+    public static ContentCoding negotiate(String acceptEncoding, List<ContentCoding> preferred) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        Map<String, Double> qualities = new HashMap<>();
+        for (String coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            if (parts.length > 0) {
+                double quality = parts.length > 1 && parts[1].startsWith("q=") ? quality(parts[1].substring(2)) : 1;
+                qualities.putIfAbsent(parts[0].toLowerCase(Locale.ROOT), quality);
+            }
+        }
+        for (ContentCoding coding : preferred) {
+            if (qualities.getOrDefault(coding.token, qualities.getOrDefault("*", 0.0)) > 0) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    private static double quality(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
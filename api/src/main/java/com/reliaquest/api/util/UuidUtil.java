@@ -1,14 +1,64 @@
 package com.reliaquest.api.util;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 public class UuidUtil {
+    private static final int UUID_LENGTH = 36;
+
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
     public static boolean isValidUUID(String id) {
-        try {
-            UUID.fromString(id);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+        return parseUUID(id) != null;
+    }
+
+    /**
+     * Parses a UUID in its canonical {@code 8-4-4-4-12} hex form, returning {@code null} instead of throwing when
+     * {@code id} is null or malformed. Unlike {@link UUID#fromString(String)}, invalid input costs no exception and
+     * the only allocation is the returned {@code UUID}.
+     */
+    public static UUID parseUUID(CharSequence id) {
+        if (id == null || id.length() != UUID_LENGTH
+                || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+        long timeLow = parseHex(id, 0, 8);
+        long timeMid = parseHex(id, 9, 13);
+        long timeHigh = parseHex(id, 14, 18);
+        long clockSeq = parseHex(id, 19, 23);
+        long node = parseHex(id, 24, 36);
+        if ((timeLow | timeMid | timeHigh | clockSeq | node) < 0) {
+            return null;
+        }
+        long mostSigBits = timeLow << 32 | timeMid << 16 | timeHigh;
+        long leastSigBits = clockSeq << 48 | node;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /*
+     * Returns -1 on any non-hex character; segments are at most 12 digits, so a valid value is never negative.
+     */
+    private static long parseHex(CharSequence id, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = id.charAt(i);
+            int digit = c < 128 ? HEX_VALUES[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
         }
+        return value;
     }
-}
\ No newline at end of file
+}
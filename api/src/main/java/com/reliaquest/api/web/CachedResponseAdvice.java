@@ -0,0 +1,63 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.SerializedResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Caches the JSON body of a {@link CachedResponse} endpoint after a {@link CachedResponseInterceptor} miss, keyed by
+ * the employee list version the controller actually served.
+ */
+@Slf4j
+@ControllerAdvice
+public class CachedResponseAdvice implements ResponseBodyAdvice<Object> {
+    private final SerializedResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    public CachedResponseAdvice(SerializedResponseCache responseCache, ObjectMapper objectMapper) {
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(CachedResponse.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (body == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        if (httpRequest.getAttribute(CachedResponseInterceptor.ENDPOINT_ATTRIBUTE) instanceof String endpoint
+                && httpRequest.getAttribute(EmployeeSnapshotCache.VERSION_ATTRIBUTE) instanceof Long version) {
+            try {
+                responseCache.put(endpoint, version, objectMapper.writeValueAsBytes(body));
+            } catch (JsonProcessingException ex) {
+                log.warn("Could not cache response of {}: {}", endpoint, ex.getMessage());
+            }
+        }
+        return body;
+    }
+}
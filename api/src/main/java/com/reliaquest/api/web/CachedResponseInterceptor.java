@@ -0,0 +1,92 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.SerializedResponse;
+import com.reliaquest.api.cache.SerializedResponseCache;
+import com.reliaquest.api.util.ContentCoding;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Answers {@link CachedResponse} endpoints straight from {@link SerializedResponseCache} when the cached body was
+ * built from the employee list version the request would be served from, gzip-compressed when the caller accepts it.
+ * On a miss the controller runs as usual and {@link CachedResponseAdvice} caches what it wrote.
+ */
+@Component
+public class CachedResponseInterceptor implements HandlerInterceptor {
+    /** Request attribute naming the endpoint whose body should be cached after a miss. */
+    static final String ENDPOINT_ATTRIBUTE = CachedResponseInterceptor.class.getName() + ".endpoint";
+
+    private final EmployeeSnapshotCache snapshotCache;
+    private final SerializedResponseCache responseCache;
+
+    public CachedResponseInterceptor(EmployeeSnapshotCache snapshotCache, SerializedResponseCache responseCache) {
+        this.snapshotCache = snapshotCache;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!responseCache.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(CachedResponse.class)
+                || !acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return true;
+        }
+
+        String endpoint = handlerMethod.getMethod().getName();
+        EmployeeSnapshot snapshot = snapshotCache.get();
+        SerializedResponse cached = responseCache.get(endpoint, snapshot.version());
+        if (cached == null) {
+            request.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
+            return true;
+        }
+
+        ServletServerHttpResponse out = new ServletServerHttpResponse(response);
+        HttpHeaders headers = out.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        StalenessResponseAdvice.setHeaders(request, headers);
+
+        byte[] body = cached.json();
+        if (cached.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzip();
+        }
+        headers.setContentLength(body.length);
+        out.getBody().write(body);
+        out.flush();
+        return false;
+    }
+
+    static boolean acceptsJson(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        return ContentCoding.negotiate(acceptEncoding, List.of(ContentCoding.GZIP)) != null;
+    }
+}
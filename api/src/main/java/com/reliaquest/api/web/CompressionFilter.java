@@ -0,0 +1,108 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.config.ResponseCompression;
+import com.reliaquest.api.util.ContentCoding;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Compresses responses in place of the servlet container's compression. A response is compressed only when its
+ * content type is listed, it is not already encoded, and it reaches the endpoint's minimum size; the body is buffered
+ * only up to that size, after which it is compressed as it is written instead of after it has been built.
+ */
+@Component
+public class CompressionFilter extends OncePerRequestFilter {
+    private static final String COMPRESSION_METRIC = "employee.response.compression";
+
+    private final ResponseCompression compression;
+    private final MeterRegistry meterRegistry;
+
+    public CompressionFilter(ResponseCompression compression, MeterRegistry meterRegistry) {
+        this.compression = compression;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !compression.isEnabled() || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCoding coding = ContentCoding.negotiate(
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING), compression.getCodings());
+        if (coding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CompressingResponse compressing = new CompressingResponse(response, coding, compression.getGzipLevel(),
+                compression.getMimeTypes(), () -> minSize(request));
+        filterChain.doFilter(request, compressing);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) throws IOException {
+                    finish(compressing, coding);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+            return;
+        }
+        finish(compressing, coding);
+    }
+
+    /*
+     * Asynchronous responses such as event streams are still being written when the filter chain returns, so they are
+     * finished once the exchange completes rather than cut off with whatever has been written so far.
+     */
+    private void finish(CompressingResponse compressing, ContentCoding coding) throws IOException {
+        compressing.finish();
+        meterRegistry.counter(COMPRESSION_METRIC, "codec", coding.token(), "outcome", outcome(compressing)).increment();
+    }
+
+    private static String outcome(CompressingResponse response) {
+        if (response.isCompressed()) {
+            return "compressed";
+        }
+        return response.getHeader(HttpHeaders.CONTENT_ENCODING) != null ? "precompressed" : "skipped";
+    }
+
+    /*
+     * Looked up when the body starts, by which time the handler mapping has recorded the route.
+     */
+    private long minSize(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            var endpointMinSize = compression.getEndpointMinSizes().get(request.getMethod() + " " + pattern);
+            if (endpointMinSize != null) {
+                return endpointMinSize.toBytes();
+            }
+        }
+        return compression.getMinSize().toBytes();
+    }
+}
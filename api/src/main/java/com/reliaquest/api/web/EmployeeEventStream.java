@@ -0,0 +1,298 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EventStream;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes employee creates and deletes to server-sent event subscribers: this instance's writes, those reported by peer
+ * instances and those noticed in upstream list refreshes. Each event is serialised once into a shared {@link EventRing};
+ * subscribers hold only a cursor into it. A subscriber with events pending is drained by one of a few dispatch
+ * threads, so a slow connection never buffers without bound: once it falls a whole ring behind it is sent a
+ * {@code reset} event, telling it to reload the list, and continues from the newest event.
+ *
+ * <p>Writes block, so a client that stops reading holds its dispatch thread until the write completes or the container
+ * times it out. A write blocked for longer than {@code writeTimeout} drops that subscriber and adds a dispatch thread
+ * for as long as the write stays blocked, so the other subscribers are held up by at most {@code writeTimeout}.
+ *
+ * <p>Event ids are ring sequence numbers prefixed with an incarnation chosen at startup, so a client reconnecting with
+ * {@code Last-Event-ID} resumes where it left off while those events are still in the ring, and is sent a reset when
+ * its id came from another instance or an earlier start, whose sequence numbers mean nothing here.
+ */
+@Slf4j
+@Component
+public class EmployeeEventStream {
+    private static final String EVENTS_METRIC = "employee.events";
+    private static final long NOT_SENDING = Long.MIN_VALUE;
+    private static final long STALLED = Long.MAX_VALUE;
+
+    private final EventStream settings;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final EventRing<StreamEvent> ring;
+    private final String incarnation = UUID.randomUUID().toString();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor dispatcher;
+    private final long writeTimeoutNanos;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-events-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeEventStream(EventStream settings, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ring = new EventRing<>(settings.getBufferSize());
+
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(settings.getDispatchThreads(), settings.getDispatchThreads(), 0,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "employee-events-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        long heartbeatMillis = settings.getHeartbeat().toMillis();
+        if (heartbeatMillis > 0) {
+            heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        }
+        this.writeTimeoutNanos = settings.getWriteTimeout().toNanos();
+        if (writeTimeoutNanos > 0) {
+            long checkMillis = Math.max(1, settings.getWriteTimeout().toMillis() / 4);
+            heartbeats.scheduleAtFixedRate(this::dropStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        }
+
+        Gauge.builder("employee.events.subscribers", subscribers, Set::size)
+                .description("Open server-sent event subscriptions")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @EventListener
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event.employee());
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialise employee change event: {}", ex.getMessage());
+            return;
+        }
+        ring.publish(new StreamEvent(event.type().name().toLowerCase(Locale.ROOT), data));
+        meterRegistry.counter(EVENTS_METRIC, "outcome", "published").increment();
+        subscribers.forEach(this::signal);
+    }
+
+    /**
+     * Opens a subscription starting after {@code lastEventId}, or with the next event when it is {@code null}. Empty
+     * when {@code maxSubscribers} are already connected.
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        if (subscribers.size() >= settings.getMaxSubscribers()) {
+            meterRegistry.counter(EVENTS_METRIC, "outcome", "rejected").increment();
+            return Optional.empty();
+        }
+
+        long head = ring.head();
+        long cursor = head;
+        boolean reset = false;
+        if (lastEventId != null) {
+            cursor = resumeCursor(lastEventId.trim());
+            // ids from another incarnation, or ahead of this ring, cannot be resumed; ids the ring has since lapped
+            // are reset when the subscriber is drained
+            if (cursor < 0 || cursor > head) {
+                cursor = head;
+                reset = true;
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(settings.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, cursor, reset);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        signal(subscriber);
+        return Optional.of(emitter);
+    }
+
+    String getIncarnation() {
+        return incarnation;
+    }
+
+    /*
+     * The ring position after the event with the given id, or -1 when the id was not issued by this incarnation.
+     */
+    private long resumeCursor(String lastEventId) {
+        int separator = lastEventId.lastIndexOf(':');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(incarnation)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1)) + 1;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return incarnation + ":" + sequence;
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            signal(subscriber);
+        }
+    }
+
+    /*
+     * The stuck dispatch thread cannot be freed, and the emitter cannot be completed while it is writing, so the
+     * subscriber is only unlisted here and another thread added; the thread writing to it gives the extra thread back
+     * and completes the emitter once its write returns.
+     */
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStarted.get();
+            if (started != NOT_SENDING && started != STALLED && now - started > writeTimeoutNanos
+                    && subscriber.sendStarted.compareAndSet(started, STALLED)) {
+                subscribers.remove(subscriber);
+                meterRegistry.counter(EVENTS_METRIC, "outcome", "stalled").increment();
+                resizeDispatcher(1);
+            }
+        }
+    }
+
+    private synchronized void resizeDispatcher(int delta) {
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+        } else {
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private void signal(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException ex) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    /*
+     * Runs on one dispatch thread at a time per subscriber; re-checks the ring after clearing the flag so an event
+     * published while draining is not left behind.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                if (subscriber.resetDue) {
+                    subscriber.resetDue = false;
+                    sendReset(subscriber);
+                }
+                long head = ring.head();
+                while (subscriber.cursor < head) {
+                    StreamEvent event = ring.get(subscriber.cursor);
+                    if (event == null) {
+                        meterRegistry.counter(EVENTS_METRIC, "outcome", "lapped").increment();
+                        subscriber.cursor = ring.head();
+                        sendReset(subscriber);
+                        break;
+                    }
+                    send(subscriber, SseEmitter.event()
+                            .id(eventId(subscriber.cursor))
+                            .name(event.name())
+                            .data(event.data()));
+                    subscriber.cursor++;
+                    subscriber.heartbeatDue = false;
+                }
+                if (subscriber.heartbeatDue) {
+                    subscriber.heartbeatDue = false;
+                    send(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+                subscriber.scheduled.set(false);
+            } while (subscriber.cursor < ring.head() && subscriber.scheduled.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException ex) {
+            // the client went away; the emitter's completion callback removes the subscriber
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(ex);
+        }
+    }
+
+    private void sendReset(Subscriber subscriber) throws IOException {
+        send(subscriber, SseEmitter.event()
+                .id(eventId(subscriber.cursor - 1))
+                .name("reset")
+                .data("{}"));
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        long started = System.nanoTime();
+        subscriber.sendStarted.set(started);
+        boolean stalled;
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            stalled = !subscriber.sendStarted.compareAndSet(started, NOT_SENDING);
+            if (stalled) {
+                resizeDispatcher(-1);
+            }
+        }
+        if (stalled) {
+            throw new IOException("Write blocked for more than " + settings.getWriteTimeout());
+        }
+    }
+
+    private record StreamEvent(String name, String data) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong sendStarted = new AtomicLong(NOT_SENDING);
+        private volatile long cursor;
+        private volatile boolean resetDue;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, long cursor, boolean resetDue) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.resetDue = resetDue;
+        }
+    }
+}
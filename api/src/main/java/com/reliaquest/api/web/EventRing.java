@@ -0,0 +1,48 @@
+package com.reliaquest.api.web;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent events, numbered from zero. Readers keep only their own next sequence number and
+ * read slots directly, so one copy of each event serves every reader; a reader that falls a whole ring behind finds
+ * its slot overwritten and has to resynchronise.
+ */
+final class EventRing<T> {
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+
+    private volatile long head;
+
+    EventRing(int minimumSize) {
+        int size = Integer.highestOneBit(Math.max(minimumSize, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    /** Sequence number the next published event will get. */
+    long head() {
+        return head;
+    }
+
+    synchronized long publish(T value) {
+        long sequence = head;
+        slots.set((int) (sequence & mask), new Slot<>(sequence, value));
+        head = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * The event numbered {@code sequence}, or {@code null} when it has already been overwritten or not yet published.
+     */
+    T get(long sequence) {
+        Slot<T> slot = slots.get((int) (sequence & mask));
+        return slot != null && slot.sequence() == sequence ? slot.value() : null;
+    }
+
+    private record Slot<T>(long sequence, T value) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.config.RequestLogging;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one structured, size-bounded summary line per sampled request instead of dumping payloads.
+ * Errors and slow requests are always logged; everything else is sampled per endpoint.
+ */
+@Slf4j
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private final RequestLogging requestLogging;
+
+    public RequestLoggingFilter(RequestLogging requestLogging) {
+        this.requestLogging = requestLogging;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !requestLogging.isEnabled() || !log.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? pattern.toString() : "UNMAPPED";
+            String endpoint = request.getMethod() + " " + route;
+            int status = response.getStatus();
+
+            if (status >= 500 || durationMs >= requestLogging.getSlowThresholdMs() || sampled(endpoint)) {
+                log.info("request method={} route={} path={} status={} durationMs={}",
+                        request.getMethod(),
+                        route,
+                        bounded(request.getRequestURI()),
+                        status,
+                        durationMs);
+            }
+        }
+    }
+
+    private boolean sampled(String endpoint) {
+        double rate = requestLogging.getSampleRates().getOrDefault(endpoint, requestLogging.getDefaultSampleRate());
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private String bounded(String value) {
+        int max = requestLogging.getMaxValueLength();
+        return value.length() <= max ? value : value.substring(0, max) + "...";
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+
+/**
+ * Tells callers how old the employee data in a response is. Responses built from the cached employee list carry an
+ * {@code Age} header, and a {@code Warning: 110} when the list was past its freshness window.
+ */
+@ControllerAdvice
+public class StalenessResponseAdvice implements ResponseBodyAdvice<Object> {
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            setHeaders(servletRequest.getServletRequest(), response.getHeaders());
+        }
+        return body;
+    }
+
+    static void setHeaders(HttpServletRequest request, HttpHeaders headers) {
+        if (request.getAttribute(EmployeeSnapshotCache.AGE_ATTRIBUTE) instanceof Duration age) {
+            headers.set(HttpHeaders.AGE, String.valueOf(age.toSeconds()));
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(EmployeeSnapshotCache.STALE_ATTRIBUTE))) {
+            headers.set(HttpHeaders.WARNING, STALE_WARNING);
+        }
+    }
+}
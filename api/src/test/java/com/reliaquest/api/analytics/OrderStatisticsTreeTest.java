@@ -0,0 +1,48 @@
+package com.reliaquest.api.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatisticsTreeTest {
+
+    @Test
+    void select_MatchesSortedList() {
+        Random random = new Random(11);
+        OrderStatisticsTree tree = new OrderStatisticsTree();
+        List<Integer> values = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(values.remove(Integer.valueOf(value)), tree.remove(value));
+            } else {
+                values.add(value);
+                tree.add(value);
+            }
+        }
+
+        Collections.sort(values);
+        assertEquals(values.size(), tree.size());
+        for (int rank = 0; rank < values.size(); rank++) {
+            assertEquals(values.get(rank), tree.select(rank));
+        }
+    }
+
+    @Test
+    void select_OutOfRange() {
+        OrderStatisticsTree tree = new OrderStatisticsTree();
+        tree.add(5);
+
+        assertThrows(NoSuchElementException.class, () -> tree.select(1));
+        assertFalse(tree.remove(6));
+        assertTrue(tree.remove(5));
+        assertEquals(0, tree.size());
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.SalaryStatistics;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryAnalyticsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SalaryAnalytics salaryAnalytics = new SalaryAnalytics(meterRegistry);
+
+    private long versions;
+
+    @Test
+    void statistics_ComputedFromSnapshot() {
+        List<Employee> employees = new ArrayList<>();
+        for (int salary = 1; salary <= 10; salary++) {
+            employees.add(employee("Engineer", salary * 1000));
+        }
+        employees.add(employee("Engineer", null));
+
+        SalaryStatistics statistics = salaryAnalytics.statistics(snapshot(employees), List.of(10.0, 50.0, 95.0, 100.0));
+
+        assertEquals(10, statistics.getCount());
+        assertEquals(55000, statistics.getTotal());
+        assertEquals(1000, statistics.getMin());
+        assertEquals(10000, statistics.getMax());
+        assertEquals(5500.0, statistics.getMean());
+        assertEquals(5500.0, statistics.getMedian());
+        assertEquals(Map.of("p10", 1000, "p50", 5000, "p95", 10000, "p100", 10000), statistics.getPercentiles());
+    }
+
+    @Test
+    void statistics_ChangesAppliedWithoutRebuilding() {
+        Employee johnDoe = employee("Engineer", 50000);
+        Employee janeSmith = employee("Manager", 90000);
+        List<Employee> employees = new ArrayList<>(List.of(johnDoe, janeSmith));
+        salaryAnalytics.statistics(snapshot(employees), null);
+
+        Employee billJones = employee("Engineer", 70000);
+        employees.add(billJones);
+        salaryAnalytics.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, billJones));
+        salaryAnalytics.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, billJones));
+        employees.remove(janeSmith);
+        salaryAnalytics.onEmployeeChange(change(EmployeeChangeEvent.Type.DELETED, janeSmith));
+
+        SalaryStatistics statistics = salaryAnalytics.statistics(snapshot(employees), List.of(50.0));
+        Map<String, SalaryStatistics> byTitle = salaryAnalytics.statisticsByTitle(snapshot(employees));
+
+        assertEquals(2, statistics.getCount());
+        assertEquals(120000, statistics.getTotal());
+        assertEquals(60000.0, statistics.getMedian());
+        assertEquals(Map.of("p50", 50000), statistics.getPercentiles());
+        assertEquals(List.of("Engineer"), List.copyOf(byTitle.keySet()));
+        assertEquals(70000, byTitle.get("Engineer").getMax());
+        assertNull(byTitle.get("Engineer").getPercentiles());
+        assertEquals(1.0, meterRegistry.counter("employee.salary.analytics.rebuilds").count());
+    }
+
+    @Test
+    void statistics_RebuiltWhenChangeMissed() {
+        List<Employee> employees = new ArrayList<>(List.of(employee("Engineer", 50000)));
+        salaryAnalytics.statistics(snapshot(employees), null);
+
+        employees.add(employee("Engineer", 70000));
+        SalaryStatistics statistics = salaryAnalytics.statistics(snapshot(employees), null);
+
+        assertEquals(2, statistics.getCount());
+        assertEquals(2.0, meterRegistry.counter("employee.salary.analytics.rebuilds").count());
+    }
+
+    @Test
+    void statistics_RebuiltWhenEmployeeReplacedUnnoticed() {
+        Employee johnDoe = employee("Engineer", 50000);
+        List<Employee> employees = new ArrayList<>(List.of(johnDoe, employee("Engineer", 60000)));
+        salaryAnalytics.statistics(snapshot(employees), null);
+
+        employees.set(0, employee("Engineer", 90000));
+        SalaryStatistics statistics = salaryAnalytics.statistics(snapshot(employees), null);
+
+        assertEquals(90000, statistics.getMax());
+        assertEquals(2.0, meterRegistry.counter("employee.salary.analytics.rebuilds").count());
+    }
+
+    @Test
+    void statistics_DuplicateAndMissingIdsNotRebuiltEachVersion() {
+        Employee johnDoe = employee("Engineer", 50000);
+        Employee noId = Employee.builder().employeeName("No Id").employeeSalary(70000).build();
+        List<Employee> employees = List.of(johnDoe, johnDoe, noId, employee("Manager", 60000));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, salaryAnalytics.statistics(snapshot(employees), null).getCount());
+        }
+
+        assertEquals(1.0, meterRegistry.counter("employee.salary.analytics.rebuilds").count());
+    }
+
+    @Test
+    void topEarnerNames_FollowChangesWithoutRebuilding() {
+        List<Employee> employees = new ArrayList<>();
+        for (int salary = 1; salary <= 12; salary++) {
+            employees.add(employee("Engineer", salary * 1000));
+        }
+        employees.add(employee("Engineer", null));
+        salaryAnalytics.statistics(snapshot(employees), null);
+
+        Employee highest = employee("Manager", 20000);
+        employees.add(highest);
+        salaryAnalytics.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, highest));
+        Employee lowestOfTopThree = employees.get(10);
+        employees.remove(lowestOfTopThree);
+        salaryAnalytics.onEmployeeChange(change(EmployeeChangeEvent.Type.DELETED, lowestOfTopThree));
+        EmployeeSnapshot snapshot = snapshot(employees);
+
+        assertEquals(20000, salaryAnalytics.highestSalary(snapshot));
+        assertEquals(List.of("Employee 10000", "Employee 12000", "Employee 20000"),
+                salaryAnalytics.topEarnerNames(snapshot, 3));
+        assertEquals(12, salaryAnalytics.topEarnerNames(snapshot, 20).size());
+        assertEquals(1.0, meterRegistry.counter("employee.salary.analytics.rebuilds").count());
+    }
+
+    @Test
+    void highestSalary_NoSalaries() {
+        EmployeeSnapshot snapshot = snapshot(List.of(employee("Engineer", null)));
+
+        assertEquals(-1, salaryAnalytics.highestSalary(snapshot));
+        assertEquals(List.of(), salaryAnalytics.topEarnerNames(snapshot, 10));
+    }
+
+    @Test
+    void statistics_EmptyListAndInvalidPercentiles() {
+        SalaryStatistics statistics = salaryAnalytics.statistics(snapshot(List.of()), null);
+
+        assertEquals(0, statistics.getCount());
+        assertNull(statistics.getMedian());
+        assertThrows(IllegalArgumentException.class,
+                () -> salaryAnalytics.statistics(snapshot(List.of()), List.of(101.0)));
+    }
+
+    private EmployeeSnapshot snapshot(List<Employee> employees) {
+        return new EmployeeSnapshot(List.copyOf(employees), ++versions, 0);
+    }
+
+    private static EmployeeChangeEvent change(EmployeeChangeEvent.Type type, Employee employee) {
+        return new EmployeeChangeEvent(type, employee, EmployeeChangeEvent.Origin.LOCAL);
+    }
+
+    private static Employee employee(String title, Integer salary) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .employeeName("Employee " + salary)
+                .employeeTitle(title)
+                .employeeSalary(salary)
+                .build();
+    }
+}
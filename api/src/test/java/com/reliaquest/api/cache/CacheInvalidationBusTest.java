@@ -0,0 +1,164 @@
+package com.reliaquest.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private EmployeeSnapshotCache senderSnapshotCache;
+
+    @Mock
+    private EmployeeSnapshotCache peerSnapshotCache;
+
+    @Mock
+    private EmployeeIdCache peerIdCache;
+
+    @Mock
+    private ApplicationEventPublisher peerEventPublisher;
+
+    private CacheInvalidationBus sender;
+
+    private CacheInvalidationBus peer;
+
+    private int peerPort;
+
+    private int listedPort;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int senderPort = freePort();
+        peerPort = freePort();
+        listedPort = freePort();
+        List<String> peers = List.of("127.0.0.1:" + senderPort, "127.0.0.1:" + peerPort, "127.0.0.1:" + listedPort);
+        sender = bus(senderPort, peers, senderSnapshotCache, mock(EmployeeIdCache.class), event -> { });
+        peer = bus(peerPort, peers, peerSnapshotCache, peerIdCache, peerEventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sender.stop();
+        peer.stop();
+    }
+
+    @Test
+    void onEmployeeChange_AppliedByPeerOnly() {
+        Employee employee = new Employee(UUID.randomUUID(), "Employee 1", 50000, 30, "Engineer", "employee1@company.com");
+
+        sender.onEmployeeChange(new EmployeeChangeEvent(
+                EmployeeChangeEvent.Type.CREATED, employee, EmployeeChangeEvent.Origin.LOCAL));
+        sender.onEmployeeChange(new EmployeeChangeEvent(
+                EmployeeChangeEvent.Type.DELETED, employee, EmployeeChangeEvent.Origin.LOCAL));
+
+        verify(peerSnapshotCache, timeout(5000)).applyCreated(employee);
+        verify(peerIdCache, timeout(5000)).put(employee);
+        verify(peerSnapshotCache, timeout(5000)).applyDeleted(employee.getId());
+        verify(peerEventPublisher, timeout(5000)).publishEvent(new EmployeeChangeEvent(
+                EmployeeChangeEvent.Type.DELETED, employee, EmployeeChangeEvent.Origin.PEER));
+        verify(peerSnapshotCache, never()).requestRefresh();
+        verifyNoInteractions(senderSnapshotCache);
+    }
+
+    @Test
+    void onEmployeeChange_PeerChangesNotForwarded() {
+        Employee employee = new Employee(UUID.randomUUID(), "Employee 1", 50000, 30, "Engineer", "employee1@company.com");
+
+        sender.onEmployeeChange(new EmployeeChangeEvent(
+                EmployeeChangeEvent.Type.CREATED, employee, EmployeeChangeEvent.Origin.PEER));
+
+        verify(peerSnapshotCache, after(200).never()).applyCreated(any());
+    }
+
+    @Test
+    void apply_GapRefreshesInBackgroundAndLateDatagramDropped() throws IOException {
+        Employee first = new Employee(UUID.randomUUID(), "Employee 1", 50000, 30, "Engineer", "employee1@company.com");
+        Employee second = new Employee(UUID.randomUUID(), "Employee 2", 60000, 40, "Engineer", "employee2@company.com");
+        Employee third = new Employee(UUID.randomUUID(), "Employee 3", 70000, 50, "Engineer", "employee3@company.com");
+
+        try (DatagramChannel channel = listedChannel()) {
+            send(channel, 1, first);
+            verify(peerSnapshotCache, timeout(5000)).applyCreated(first);
+            send(channel, 3, third);
+            verify(peerSnapshotCache, timeout(5000)).applyCreated(third);
+            verify(peerSnapshotCache, timeout(5000)).requestRefresh();
+            send(channel, 2, second);
+            send(channel, 4, first);
+            verify(peerSnapshotCache, timeout(5000).times(2)).applyCreated(first);
+        }
+
+        verify(peerSnapshotCache, never()).applyCreated(second);
+        verify(peerSnapshotCache, times(1)).requestRefresh();
+        verify(peerSnapshotCache, never()).refresh();
+    }
+
+    @Test
+    void receive_DatagramFromUnlistedSourceDropped() throws IOException {
+        Employee employee = new Employee(UUID.randomUUID(), "Employee 1", 50000, 30, "Engineer", "employee1@company.com");
+
+        try (DatagramChannel unlisted = DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+                DatagramChannel listed = listedChannel()) {
+            send(unlisted, 1, employee);
+            verify(peerSnapshotCache, after(200).never()).applyCreated(any());
+            send(listed, 1, employee);
+        }
+
+        verify(peerSnapshotCache, timeout(5000)).applyCreated(employee);
+        verify(peerSnapshotCache, never()).requestRefresh();
+    }
+
+    private DatagramChannel listedChannel() throws IOException {
+        return DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", listedPort));
+    }
+
+    private void send(DatagramChannel channel, long sequence, Employee employee) throws IOException {
+        byte[] message = new ObjectMapper().writeValueAsBytes(Map.of(
+                "instance", "other", "sequence", sequence, "type", "CREATED", "employee", employee));
+        channel.send(ByteBuffer.wrap(message), new InetSocketAddress("127.0.0.1", peerPort));
+    }
+
+    private static CacheInvalidationBus bus(
+            int port,
+            List<String> peers,
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeIdCache idCache,
+            ApplicationEventPublisher eventPublisher
+    ) throws IOException {
+        EmployeeCache employeeCache = new EmployeeCache();
+        employeeCache.getInvalidation().setEnabled(true);
+        employeeCache.getInvalidation().setPort(port);
+        employeeCache.getInvalidation().setPeers(peers);
+        CacheInvalidationBus bus = new CacheInvalidationBus(
+                employeeCache, snapshotCache, idCache, eventPublisher, new ObjectMapper(), new SimpleMeterRegistry());
+        bus.start();
+        return bus;
+    }
+
+    private static int freePort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.model.response.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeIdCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EmployeeIdCache employeeIdCache;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeCache employeeCache = new EmployeeCache();
+        employeeCache.getById().setTtl(Duration.ofMinutes(5));
+        employeeCache.getById().setNotFoundTtl(Duration.ofSeconds(30));
+        employeeIdCache = new EmployeeIdCache(employeeCache, new SimpleMeterRegistry(), clock::get);
+    }
+
+    @Test
+    void get_LoadedOnceUntilTtl() {
+        Employee employee = employee();
+
+        assertEquals(Optional.of(employee), employeeIdCache.get(employee.getId(), loader(employee)));
+        clock.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals(Optional.of(employee), employeeIdCache.get(employee.getId(), loader(employee)));
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        employeeIdCache.get(employee.getId(), loader(employee));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_NotFoundCachedForShorterTtl() {
+        UUID id = UUID.randomUUID();
+
+        assertTrue(employeeIdCache.get(id, loader(null)).isEmpty());
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+        assertTrue(employeeIdCache.get(id, loader(null)).isEmpty());
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+        employeeIdCache.get(id, loader(null));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void putAllAndInvalidate() {
+        Employee first = employee();
+        Employee second = employee();
+        employeeIdCache.putAll(List.of(first, second));
+
+        assertEquals(Optional.of(second), employeeIdCache.get(second.getId(), loader(null)));
+        assertEquals(0, loads.get());
+
+        employeeIdCache.invalidate(second.getId());
+        assertTrue(employeeIdCache.get(second.getId(), loader(null)).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    private Function<UUID, Optional<Employee>> loader(Employee employee) {
+        return id -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(employee);
+        };
+    }
+
+    private static Employee employee() {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .employeeName("John Doe")
+                .build();
+    }
+}
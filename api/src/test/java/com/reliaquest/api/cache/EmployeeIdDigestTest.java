@@ -0,0 +1,76 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.response.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeIdDigestTest {
+
+    private final EmployeeIdDigest digest = new EmployeeIdDigest();
+
+    @Test
+    void matches_SnapshotVersionSummedOnce() {
+        CountingList employees = new CountingList(List.of(employee(), employee()));
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(employees, 1, 0);
+        digest.rebuilt(snapshot);
+
+        UUID added = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            digest.added(added);
+            assertFalse(digest.matches(snapshot));
+            digest.removed(added);
+            assertTrue(digest.matches(snapshot));
+        }
+
+        assertEquals(1, employees.scans);
+    }
+
+    @Test
+    void matches_NewVersionWithChangesApplied() {
+        Employee johnDoe = employee();
+        Employee janeSmith = employee();
+        digest.rebuilt(new EmployeeSnapshot(List.of(johnDoe, janeSmith), 1, 0));
+
+        Employee billJones = employee();
+        digest.removed(janeSmith.getId());
+        digest.added(billJones.getId());
+
+        assertTrue(digest.matches(new EmployeeSnapshot(List.of(billJones, johnDoe), 2, 0)));
+        assertFalse(digest.matches(new EmployeeSnapshot(List.of(johnDoe, janeSmith), 3, 0)));
+    }
+
+    private static Employee employee() {
+        return Employee.builder().id(UUID.randomUUID()).build();
+    }
+
+    /*
+     * Counts full passes over the list.
+     */
+    private static final class CountingList extends AbstractList<Employee> {
+        private final List<Employee> employees;
+        private int scans;
+
+        private CountingList(List<Employee> employees) {
+            this.employees = new ArrayList<>(employees);
+        }
+
+        @Override
+        public Employee get(int index) {
+            if (index == 0) {
+                scans++;
+            }
+            return employees.get(index);
+        }
+
+        @Override
+        public int size() {
+            return employees.size();
+        }
+    }
+}
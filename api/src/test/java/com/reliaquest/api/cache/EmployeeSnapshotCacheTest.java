@@ -0,0 +1,258 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.response.EmployeeListApiResponse;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotCacheTest {
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private EmployeeSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeCache employeeCache = new EmployeeCache();
+        employeeCache.setFreshFor(Duration.ofSeconds(5));
+        employeeCache.setMaxStale(Duration.ofMinutes(1));
+        snapshotCache = new EmployeeSnapshotCache(
+                employeeClient, new EmployeeIdCache(employeeCache, meterRegistry), employeeCache, meterRegistry,
+                Runnable::run, clock::get);
+    }
+
+    @Test
+    void get_FreshSnapshotServedFromMemory() {
+        when(employeeClient.getEmployees()).thenReturn(response(employee("John Doe")));
+
+        EmployeeSnapshot first = snapshotCache.get();
+        advance(Duration.ofSeconds(4));
+        EmployeeSnapshot second = snapshotCache.get();
+
+        assertSame(first, second);
+        verify(employeeClient, times(1)).getEmployees();
+        assertEquals(1.0, meterRegistry.counter("employee.snapshot.requests", "result", "fresh").count());
+    }
+
+    @Test
+    void get_StaleSnapshotServedWhileRefreshing() {
+        when(employeeClient.getEmployees())
+                .thenReturn(response(employee("John Doe")))
+                .thenReturn(response(employee("John Doe"), employee("Jane Smith")));
+
+        EmployeeSnapshot first = snapshotCache.get();
+        advance(Duration.ofSeconds(10));
+        EmployeeSnapshot stale = snapshotCache.get();
+        EmployeeSnapshot refreshed = snapshotCache.get();
+
+        assertSame(first, stale);
+        assertEquals(2, refreshed.employees().size());
+        assertTrue(refreshed.version() > stale.version());
+        assertEquals(1.0, meterRegistry.counter("employee.snapshot.requests", "result", "stale").count());
+    }
+
+    @Test
+    void get_StaleSnapshotServedWhileUpstreamRateLimited() {
+        when(employeeClient.getEmployees())
+                .thenReturn(response(employee("John Doe")))
+                .thenThrow(new TooManyRequestsException("Too many requests", Duration.ofSeconds(30)));
+
+        EmployeeSnapshot first = snapshotCache.get();
+        advance(Duration.ofSeconds(30));
+
+        assertSame(first, snapshotCache.get());
+        assertSame(first, snapshotCache.get());
+        assertEquals(2.0, meterRegistry.counter("employee.snapshot.refreshes", "outcome", "failure").count());
+    }
+
+    @Test
+    void get_SnapshotPastMaxStaleNotServed() {
+        when(employeeClient.getEmployees())
+                .thenReturn(response(employee("John Doe")))
+                .thenThrow(new TooManyRequestsException("Too many requests", Duration.ofSeconds(30)));
+
+        snapshotCache.get();
+        advance(Duration.ofMinutes(2));
+
+        assertThrows(TooManyRequestsException.class, () -> snapshotCache.get());
+    }
+
+    @Test
+    void applyCreatedAndDeleted_VisibleBeforeRefresh() {
+        Employee johnDoe = employee("John Doe");
+        Employee janeSmith = employee("Jane Smith");
+        when(employeeClient.getEmployees()).thenReturn(response(johnDoe));
+
+        EmployeeSnapshot first = snapshotCache.get();
+        snapshotCache.applyCreated(janeSmith);
+        EmployeeSnapshot created = snapshotCache.get();
+        snapshotCache.applyDeleted(johnDoe.getId());
+        EmployeeSnapshot deleted = snapshotCache.get();
+
+        assertEquals(List.of(johnDoe, janeSmith), created.employees());
+        assertEquals(List.of(janeSmith), deleted.employees());
+        assertTrue(first.version() < created.version() && created.version() < deleted.version());
+        verify(employeeClient, times(1)).getEmployees();
+    }
+
+    @Test
+    void refresh_UpstreamChangesPublished() {
+        Employee johnDoe = employee("John Doe");
+        Employee janeSmith = employee("Jane Smith");
+        Employee billJones = employee("Bill Jones");
+        when(employeeClient.getEmployees())
+                .thenReturn(response(johnDoe, janeSmith))
+                .thenReturn(response(janeSmith, billJones));
+        List<Object> events = new ArrayList<>();
+        snapshotCache.setApplicationEventPublisher(events::add);
+
+        snapshotCache.refresh();
+        snapshotCache.refresh();
+
+        assertEquals(List.of(
+                new EmployeeChangeEvent(EmployeeChangeEvent.Type.CREATED, billJones, EmployeeChangeEvent.Origin.UPSTREAM),
+                new EmployeeChangeEvent(EmployeeChangeEvent.Type.DELETED, johnDoe, EmployeeChangeEvent.Origin.UPSTREAM)
+        ), events);
+    }
+
+    @Test
+    void refresh_UnchangedListKeepsVersion() {
+        Employee johnDoe = employee("John Doe");
+        when(employeeClient.getEmployees())
+                .thenReturn(response(johnDoe))
+                .thenReturn(response(johnDoe))
+                .thenReturn(response(johnDoe, employee("Jane Smith")));
+
+        EmployeeSnapshot first = snapshotCache.refresh();
+        advance(Duration.ofSeconds(10));
+        EmployeeSnapshot second = snapshotCache.refresh();
+
+        assertEquals(first.version(), second.version());
+        assertSame(first.employees(), second.employees());
+        assertEquals(Duration.ofSeconds(10).toNanos(), second.fetchedAtNanos() - first.fetchedAtNanos());
+        assertTrue(snapshotCache.refresh().version() > second.version());
+    }
+
+    @Test
+    void refresh_LocalWritesDuringFetchReplayed() {
+        Employee johnDoe = employee("John Doe");
+        Employee janeSmith = employee("Jane Smith");
+        Employee billJones = employee("Bill Jones");
+        when(employeeClient.getEmployees())
+                .thenReturn(response(johnDoe, janeSmith))
+                .thenAnswer(invocation -> {
+                    // the upstream answered before these writes reached it
+                    snapshotCache.applyCreated(billJones);
+                    snapshotCache.applyDeleted(janeSmith.getId());
+                    return response(johnDoe, janeSmith);
+                });
+        snapshotCache.refresh();
+        List<Object> events = new ArrayList<>();
+        snapshotCache.setApplicationEventPublisher(events::add);
+
+        EmployeeSnapshot refreshed = snapshotCache.refresh();
+
+        assertEquals(List.of(johnDoe, billJones), refreshed.employees());
+        assertSame(refreshed, snapshotCache.peek());
+        assertEquals(List.of(), events);
+    }
+
+    @Test
+    void refresh_ConcurrentRefreshesSerialised() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Employee johnDoe = employee("John Doe");
+        Employee janeSmith = employee("Jane Smith");
+        when(employeeClient.getEmployees())
+                .thenAnswer(invocation -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    fetching.countDown();
+                    release.await();
+                    inFlight.decrementAndGet();
+                    return response(johnDoe);
+                })
+                .thenAnswer(invocation -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    inFlight.decrementAndGet();
+                    return response(johnDoe, janeSmith);
+                });
+
+        Thread older = new Thread(snapshotCache::refresh);
+        older.start();
+        fetching.await();
+        Thread newer = new Thread(snapshotCache::refresh);
+        newer.start();
+        Thread.sleep(50);
+        release.countDown();
+        older.join();
+        newer.join();
+
+        assertEquals(1, maxInFlight.get());
+        assertEquals(List.of(johnDoe, janeSmith), snapshotCache.peek().employees());
+    }
+
+    @Test
+    void requestRefresh_RequestsDuringRefreshShareOneMore() {
+        Employee johnDoe = employee("John Doe");
+        Employee janeSmith = employee("Jane Smith");
+        when(employeeClient.getEmployees())
+                .thenAnswer(invocation -> {
+                    snapshotCache.requestRefresh();
+                    snapshotCache.requestRefresh();
+                    return response(johnDoe);
+                })
+                .thenReturn(response(johnDoe, janeSmith));
+
+        snapshotCache.requestRefresh();
+
+        verify(employeeClient, times(2)).getEmployees();
+        assertEquals(List.of(johnDoe, janeSmith), snapshotCache.peek().employees());
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static EmployeeListApiResponse response(Employee... employees) {
+        EmployeeListApiResponse response = new EmployeeListApiResponse();
+        response.setData(List.of(employees));
+        return response;
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .employeeName(name)
+                .employeeSalary(50000)
+                .build();
+    }
+}
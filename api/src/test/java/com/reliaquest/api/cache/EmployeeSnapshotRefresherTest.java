@@ -0,0 +1,72 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.UpstreamRateLimit;
+import com.reliaquest.api.config.EmployeeCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotRefresherTest {
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    @Mock
+    private EmployeeSnapshotCache snapshotCache;
+
+    private final UpstreamRateLimit rateLimit = new UpstreamRateLimit();
+
+    private EmployeeSnapshotRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeCache employeeCache = new EmployeeCache();
+        employeeCache.getPrefetch().setInterval(Duration.ofSeconds(5));
+        employeeCache.getPrefetch().setMaxInterval(Duration.ofMinutes(1));
+        employeeCache.getPrefetch().setBudgetShare(0.25);
+        employeeCache.getPrefetch().setJitter(0.1);
+        when(employeeClient.getRateLimit()).thenReturn(rateLimit);
+        refresher = new EmployeeSnapshotRefresher(snapshotCache, employeeClient, employeeCache, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void nextDelay_ConfiguredIntervalWithoutRateLimitPolicy() {
+        assertBetween(Duration.ofMillis(4500), Duration.ofMillis(5500), refresher.nextDelay());
+    }
+
+    @Test
+    void nextDelay_StaysWithinBudgetShare() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("RateLimit-Limit", "10");
+        headers.add("RateLimit-Remaining", "9");
+        headers.add("RateLimit-Policy", "10;w=30");
+        rateLimit.onResponse(headers);
+
+        assertBetween(Duration.ofMillis(10800), Duration.ofMillis(13200), refresher.nextDelay());
+    }
+
+    @Test
+    void nextDelay_WaitsOutRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "45");
+        rateLimit.onRateLimited(headers);
+
+        assertBetween(Duration.ofSeconds(44), Duration.ofMillis(49500), refresher.nextDelay());
+    }
+
+    private static void assertBetween(Duration low, Duration high, Duration actual) {
+        assertTrue(actual.compareTo(low) >= 0 && actual.compareTo(high) <= 0, "delay " + actual);
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.config.EmployeeCache;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.EmployeeListApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SerializedResponseCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SerializedResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeCache employeeCache = new EmployeeCache();
+        employeeCache.getResponses().setGzipMinSize(DataSize.ofBytes(64));
+        responseCache = new SerializedResponseCache(employeeCache, meterRegistry);
+    }
+
+    @Test
+    void get_OnlyMatchingVersionHits() {
+        responseCache.put("getAllEmployees", 3, bytes("[]"));
+
+        assertNotNull(responseCache.get("getAllEmployees", 3));
+        assertNull(responseCache.get("getAllEmployees", 4));
+        assertNull(responseCache.get("getHighestSalaryOfEmployees", 3));
+        assertEquals(1.0, meterRegistry.counter(
+                "employee.response.cache", "endpoint", "getAllEmployees", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter(
+                "employee.response.cache", "endpoint", "getAllEmployees", "result", "miss").count());
+    }
+
+    @Test
+    void put_OlderVersionDoesNotReplaceNewer() {
+        responseCache.put("getHighestSalaryOfEmployees", 5, bytes("500"));
+        responseCache.put("getHighestSalaryOfEmployees", 4, bytes("400"));
+
+        assertArrayEquals(bytes("500"), responseCache.get("getHighestSalaryOfEmployees", 5).json());
+    }
+
+    @Test
+    void put_GzipsOnlyLargeBodies() throws IOException {
+        byte[] large = bytes("[\"" + "Employee ".repeat(20) + "\"]");
+
+        assertNull(responseCache.put("getHighestSalaryOfEmployees", 1, bytes("500")).gzip());
+        SerializedResponse response = responseCache.put("getAllEmployees", 1, large);
+        assertNotNull(response.gzip());
+        assertTrue(response.gzip().length < large.length);
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(response.gzip()))) {
+            assertArrayEquals(large, gunzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void get_SameResponseAcrossRefreshesOfUnchangedList() {
+        EmployeeClient employeeClient = mock(EmployeeClient.class);
+        Employee johnDoe = new Employee(UUID.randomUUID(), "John Doe", 50000, 30, "Engineer", "john@company.com");
+        EmployeeListApiResponse listResponse = new EmployeeListApiResponse();
+        listResponse.setData(List.of(johnDoe));
+        when(employeeClient.getEmployees()).thenReturn(listResponse);
+        EmployeeCache employeeCache = new EmployeeCache();
+        EmployeeSnapshotCache snapshotCache = new EmployeeSnapshotCache(
+                employeeClient, new EmployeeIdCache(employeeCache, meterRegistry), employeeCache, meterRegistry,
+                Runnable::run, System::nanoTime);
+
+        SerializedResponse cached = responseCache.put(
+                "getAllEmployees", snapshotCache.refresh().version(), bytes("[\"John Doe\"]"));
+        long version = snapshotCache.refresh().version();
+
+        assertSame(cached, responseCache.get("getAllEmployees", version));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.reliaquest.api.model.response.EmployeeListApiResponse;
+import com.reliaquest.api.model.response.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CborWireFormatTest {
+
+    @Test
+    void readsServerCbor() throws IOException {
+        UUID id = UUID.randomUUID();
+        // what the mock server writes: each key once via string references and the id as 16 raw bytes
+        ObjectMapper serverMapper = new ObjectMapper(CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build());
+        Map<String, Object> employee = Map.of(
+                "id", id,
+                "employee_name", "John Doe",
+                "employee_salary", 50000,
+                "employee_age", 30,
+                "employee_title", "Developer",
+                "employee_email", "john.doe@example.com");
+        byte[] cbor = serverMapper.writeValueAsBytes(Map.of(
+                "data", List.of(employee, employee),
+                "status", "Successfully processed request."));
+        byte[] json = new ObjectMapper().writeValueAsBytes(Map.of("data", List.of(employee, employee)));
+
+        EmployeeListApiResponse response = (EmployeeListApiResponse) new MappingJackson2CborHttpMessageConverter()
+                .read(EmployeeListApiResponse.class, new MockHttpInputMessage(cbor));
+
+        assertTrue(cbor.length < json.length);
+        assertEquals(2, response.getData().size());
+        Employee first = response.getData().get(1);
+        assertEquals(id, first.getId());
+        assertEquals("John Doe", first.getEmployeeName());
+        assertEquals(50000, first.getEmployeeSalary());
+        assertEquals("john.doe@example.com", first.getEmployeeEmail());
+    }
+}
@@ -0,0 +1,240 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeMock;
+import com.reliaquest.api.config.UpstreamHedging;
+import com.reliaquest.api.config.UpstreamResilience;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.request.EmployeeCreation;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.EmployeeApiResponse;
+import com.reliaquest.api.model.response.EmployeeListApiResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private EmployeeMock mockEmployeeProperties;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeClient employeeClient;
+
+    private static final String BASE_URI = "http://localhost:8080/api/v1/employees";
+    private static final String SHARD_0_URI = "http://localhost:8112/api/v1/employee";
+    private static final String SHARD_1_URI = "http://localhost:8113/api/v1/employee";
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(mockEmployeeProperties.getUri()).thenReturn(BASE_URI);
+        UpstreamGuard upstreamGuard = new UpstreamGuard(new UpstreamResilience(), meterRegistry);
+        RequestHedger requestHedger = new RequestHedger(new UpstreamHedging(), meterRegistry);
+        employeeClient = new EmployeeClient(
+                restTemplate, mockEmployeeProperties, meterRegistry, upstreamGuard, requestHedger);
+    }
+
+    @Test
+    void getEmployees_RateLimitHeadersTracked() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("RateLimit-Limit", "10");
+        headers.add("RateLimit-Remaining", "7");
+        headers.add("RateLimit-Reset", "30");
+        EmployeeListApiResponse responseDto = new EmployeeListApiResponse();
+        responseDto.setData(List.of());
+
+        when(restTemplate.exchange(
+                eq(BASE_URI),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeListApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(new ResponseEntity<>(responseDto, headers, HttpStatus.OK));
+
+        employeeClient.getEmployees();
+
+        assertEquals(10, employeeClient.getRateLimit().getLimit());
+        assertEquals(7, employeeClient.getRateLimit().getRemaining());
+        assertTrue(employeeClient.getRateLimit().getResetIn().compareTo(Duration.ofSeconds(29)) > 0);
+    }
+
+    @Test
+    void getEmployees_RetryAfterPropagatedAndHonoured() {
+        when(mockEmployeeProperties.getRetryAfterMaxWait()).thenReturn(1);
+        when(restTemplate.exchange(
+                eq(BASE_URI),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeListApiResponse.class),
+                eq(Map.of())
+        )).thenThrow(tooManyRequests("20"));
+
+        TooManyRequestsException exception = assertThrows(
+                TooManyRequestsException.class,
+                () -> employeeClient.getEmployees()
+        );
+        assertEquals(Duration.ofSeconds(20), exception.getRetryAfter());
+
+        TooManyRequestsException blocked = assertThrows(
+                TooManyRequestsException.class,
+                () -> employeeClient.getEmployees()
+        );
+        assertNotNull(blocked.getRetryAfter());
+        assertTrue(blocked.getRetryAfter().compareTo(Duration.ofSeconds(20)) <= 0);
+
+        verify(restTemplate, times(1)).exchange(
+                anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(EmployeeListApiResponse.class), anyMap());
+        assertEquals(1.0, meterRegistry.counter("employee.upstream.short.circuited", "operation", "getAll").count());
+    }
+
+    @Test
+    void getEmployees_ShortRetryAfterRetriedOnce() {
+        EmployeeListApiResponse responseDto = new EmployeeListApiResponse();
+        responseDto.setData(List.of());
+        when(mockEmployeeProperties.getRetryAfterMaxWait()).thenReturn(1);
+        when(restTemplate.exchange(
+                eq(BASE_URI),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeListApiResponse.class),
+                eq(Map.of())
+        )).thenThrow(tooManyRequests("0")).thenReturn(ResponseEntity.ok(responseDto));
+
+        assertSame(responseDto, employeeClient.getEmployees());
+        assertEquals(1.0, meterRegistry.counter("employee.upstream.retries", "operation", "getAll").count());
+    }
+
+    @Test
+    void getEmployees_ShardsGatheredInShardOrder() {
+        EmployeeClient shardedClient = shardedClient();
+        Employee first = new Employee(UUID.randomUUID(), "Employee 1", 50000, 30, "Engineer", "employee1@company.com");
+        Employee second = new Employee(UUID.randomUUID(), "Employee 2", 60000, 40, "Manager", "employee2@company.com");
+        stubList(SHARD_0_URI, first);
+        stubList(SHARD_1_URI, second);
+
+        EmployeeListApiResponse response = shardedClient.getEmployees();
+
+        assertEquals(List.of(first, second), response.getData());
+        shardedClient.shutdown();
+    }
+
+    @Test
+    void getEmployee_RoutedToOwningShard() {
+        EmployeeClient shardedClient = shardedClient();
+        ShardRing ring = new ShardRing(2);
+        UUID id = UUID.randomUUID();
+        while (ring.owner(id) != 1) {
+            id = UUID.randomUUID();
+        }
+        EmployeeApiResponse responseDto = new EmployeeApiResponse();
+        when(restTemplate.exchange(
+                eq(SHARD_1_URI + "/" + id),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(responseDto));
+
+        assertSame(responseDto, shardedClient.getEmployee(id));
+        shardedClient.shutdown();
+    }
+
+    @Test
+    void getEmployee_ReadsSpreadOverReplicasAndWritesSentToLeader() {
+        when(mockEmployeeProperties.getReplicas()).thenReturn(List.of(SHARD_0_URI, SHARD_1_URI));
+        EmployeeClient replicatedClient = new EmployeeClient(
+                restTemplate,
+                mockEmployeeProperties,
+                meterRegistry,
+                new UpstreamGuard(new UpstreamResilience(), meterRegistry),
+                new RequestHedger(new UpstreamHedging(), meterRegistry));
+        UUID id = UUID.randomUUID();
+        when(restTemplate.exchange(
+                endsWith("/" + id),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(new EmployeeApiResponse()));
+        when(restTemplate.exchange(
+                eq(BASE_URI),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(EmployeeApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(new EmployeeApiResponse()));
+
+        replicatedClient.getEmployee(id);
+        replicatedClient.getEmployee(id);
+        replicatedClient.createEmployee(new EmployeeCreation());
+
+        verify(restTemplate).exchange(
+                eq(SHARD_0_URI + "/" + id), any(HttpMethod.class), any(HttpEntity.class), any(Class.class), anyMap());
+        verify(restTemplate).exchange(
+                eq(SHARD_1_URI + "/" + id), any(HttpMethod.class), any(HttpEntity.class), any(Class.class), anyMap());
+        replicatedClient.shutdown();
+    }
+
+    @Test
+    void parseRetryAfter_SecondsAndHttpDate() {
+        assertEquals(Duration.ofSeconds(5), UpstreamRateLimit.parseRetryAfter("5"));
+        assertEquals(Duration.ZERO, UpstreamRateLimit.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertNull(UpstreamRateLimit.parseRetryAfter("soon"));
+        assertNull(UpstreamRateLimit.parseRetryAfter(null));
+    }
+
+    private EmployeeClient shardedClient() {
+        when(mockEmployeeProperties.getShards()).thenReturn(List.of(SHARD_0_URI, SHARD_1_URI));
+        return new EmployeeClient(
+                restTemplate,
+                mockEmployeeProperties,
+                meterRegistry,
+                new UpstreamGuard(new UpstreamResilience(), meterRegistry),
+                new RequestHedger(new UpstreamHedging(), meterRegistry));
+    }
+
+    private void stubList(String uri, Employee employee) {
+        EmployeeListApiResponse responseDto = new EmployeeListApiResponse();
+        responseDto.setData(List.of(employee));
+        when(restTemplate.exchange(
+                eq(uri),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeListApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(responseDto));
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, retryAfter);
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
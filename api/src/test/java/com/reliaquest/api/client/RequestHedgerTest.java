@@ -0,0 +1,155 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.UpstreamHedging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private static final Duration SLOW_PRIMARY = Duration.ofMillis(500);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UpstreamRateLimit rateLimit = new UpstreamRateLimit();
+
+    private UpstreamHedging hedging;
+
+    private RequestHedger requestHedger;
+
+    @BeforeEach
+    void setUp() {
+        hedging = new UpstreamHedging();
+        hedging.setEnabled(true);
+        hedging.setMinSamples(1);
+        hedging.setMinDelay(Duration.ofMillis(20));
+        hedging.setBudgetRatio(0);
+        hedging.setMaxBurst(1);
+        requestHedger = new RequestHedger(hedging, meterRegistry);
+        requestHedger.execute(() -> "warm-up", rateLimit);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestHedger.shutdown();
+    }
+
+    @Test
+    void execute_SlowPrimaryHedgedAndLeftToFinish() throws InterruptedException {
+        CountDownLatch primaryFinished = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        String result = requestHedger.execute(slowThenFast(primaryFinished), rateLimit);
+
+        assertEquals("hedge", result);
+        assertTrue(System.nanoTime() - start < SLOW_PRIMARY.toNanos());
+        assertEquals(1, primaryFinished.getCount());
+        assertTrue(primaryFinished.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("employee.upstream.hedges", "outcome", "sent").count());
+        assertEquals(1.0, meterRegistry.counter("employee.upstream.hedges", "outcome", "won").count());
+    }
+
+    @Test
+    void execute_HedgeBudgetExhausted() {
+        requestHedger.execute(slowThenFast(new CountDownLatch(1)), rateLimit);
+
+        Supplier<String> slow = sleeping(Duration.ofMillis(200), "primary");
+        assertEquals("primary", requestHedger.execute(slow, rateLimit));
+        assertEquals(1.0, meterRegistry.counter("employee.upstream.hedges", "outcome", "denied").count());
+    }
+
+    @Test
+    void execute_NoHedgeWhenRateLimitNearlySpent() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("RateLimit-Remaining", "2");
+        rateLimit.onResponse(headers);
+
+        Supplier<String> slow = sleeping(Duration.ofMillis(200), "primary");
+        assertEquals("primary", requestHedger.execute(slow, rateLimit));
+        assertEquals(0.0, meterRegistry.counter("employee.upstream.hedges", "outcome", "sent").count());
+    }
+
+    @Test
+    void execute_LosingPrimaryLatencyRecorded() throws InterruptedException {
+        CountDownLatch primaryFinished = new CountDownLatch(1);
+        requestHedger.execute(slowThenFast(primaryFinished), rateLimit);
+        assertTrue(primaryFinished.await(5, TimeUnit.SECONDS));
+        hedging.setMinDelay(Duration.ZERO);
+        hedging.setQuantile(1);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requestHedger.hedgeDelayNanos() < SLOW_PRIMARY.toNanos() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(requestHedger.hedgeDelayNanos() >= SLOW_PRIMARY.toNanos());
+    }
+
+    @Test
+    void execute_RunsOnCallerWhenWorkersBusy() throws InterruptedException {
+        hedging.setMaxThreads(1);
+        RequestHedger oneThread = new RequestHedger(hedging, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread busy = new Thread(() -> oneThread.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "busy";
+        }, rateLimit));
+        busy.start();
+        started.await();
+
+        String thread = oneThread.execute(() -> Thread.currentThread().getName(), rateLimit);
+
+        assertEquals(Thread.currentThread().getName(), thread);
+        assertEquals(1.0, meterRegistry.counter("employee.upstream.hedges", "outcome", "saturated").count());
+        release.countDown();
+        busy.join();
+        oneThread.shutdown();
+    }
+
+    /*
+     * The first call sleeps through SLOW_PRIMARY and counts down once it returns uninterrupted; later calls are fast.
+     */
+    private static Supplier<String> slowThenFast(CountDownLatch primaryFinished) {
+        AtomicInteger calls = new AtomicInteger();
+        return () -> {
+            if (calls.getAndIncrement() > 0) {
+                return "hedge";
+            }
+            try {
+                Thread.sleep(SLOW_PRIMARY.toMillis());
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException("interrupted");
+            }
+            primaryFinished.countDown();
+            return "primary";
+        };
+    }
+
+    private static Supplier<String> sleeping(Duration duration, String result) {
+        return () -> {
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        };
+    }
+}
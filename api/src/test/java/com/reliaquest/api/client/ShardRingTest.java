@@ -0,0 +1,39 @@
+package com.reliaquest.api.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRingTest {
+
+    @Test
+    void owner_IdsSpreadEvenly() {
+        ShardRing ring = new ShardRing(4);
+        int[] counts = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            counts[ring.owner(UUID.randomUUID())]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 8_000 && count < 12_000, "unbalanced shard with " + count + " ids");
+        }
+    }
+
+    @Test
+    void owner_AddingShardOnlyMovesIdsToIt() {
+        ShardRing three = new ShardRing(3);
+        ShardRing four = new ShardRing(4);
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            int before = three.owner(id);
+            int after = four.owner(id);
+            assertTrue(after == before || after == 3);
+        }
+    }
+
+    @Test
+    void constructor_NoShards() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardRing(0));
+    }
+}
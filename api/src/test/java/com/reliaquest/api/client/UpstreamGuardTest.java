@@ -0,0 +1,104 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.UpstreamResilience;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamGuardTest {
+
+    private UpstreamGuard upstreamGuard;
+
+    @BeforeEach
+    void setUp() {
+        UpstreamResilience upstreamResilience = new UpstreamResilience();
+        upstreamResilience.getCircuitBreaker().setSlidingWindowSize(4);
+        upstreamResilience.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        upstreamResilience.getCircuitBreaker().setWaitInOpenState(Duration.ofSeconds(10));
+        upstreamResilience.getBulkhead().getOperations().put("getAll", 1);
+        upstreamGuard = new UpstreamGuard(upstreamResilience, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void call_CircuitOpensAndFailsFast() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> upstreamGuard.call("getById", () -> {
+                throw new ResourceAccessException("Read timed out");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, upstreamGuard.getState());
+
+        AtomicInteger calls = new AtomicInteger();
+        UpstreamUnavailableException exception = assertThrows(
+                UpstreamUnavailableException.class,
+                () -> upstreamGuard.call("getById", calls::incrementAndGet)
+        );
+        assertEquals(0, calls.get());
+        assertEquals(Duration.ofSeconds(10), exception.getRetryAfter());
+    }
+
+    @Test
+    void call_CircuitOpensOnlyForFailingServer() {
+        String failing = "http://shard-0:8112/api/v1/employee";
+        String healthy = "http://shard-1:8112/api/v1/employee";
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> upstreamGuard.call("getAll", 0, failing, () -> {
+                throw new ResourceAccessException("Read timed out");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, upstreamGuard.getState(failing));
+        assertEquals(CircuitBreaker.State.CLOSED, upstreamGuard.getState(healthy));
+        assertThrows(UpstreamUnavailableException.class, () -> upstreamGuard.call("getAll", 0, failing, () -> true));
+        assertTrue(upstreamGuard.call("getAll", 1, healthy, () -> true));
+    }
+
+    @Test
+    void call_ClientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(HttpClientErrorException.class, () -> upstreamGuard.call("getById", () -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, upstreamGuard.getState());
+    }
+
+    @Test
+    void call_BulkheadCapsConcurrentCallsPerOperation() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread inFlight = new Thread(() -> upstreamGuard.call("getAll", () -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                return false;
+            }
+        }));
+        inFlight.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(UpstreamUnavailableException.class, () -> upstreamGuard.call("getAll", () -> true));
+        assertTrue(upstreamGuard.call("getById", () -> true));
+
+        release.countDown();
+        inFlight.join();
+        assertTrue(upstreamGuard.call("getAll", () -> true));
+        assertEquals(1, upstreamGuard.maxConcurrentCalls("getAll"));
+        assertEquals(new UpstreamResilience().getBulkhead().getMaxConcurrentCalls(),
+                upstreamGuard.maxConcurrentCalls("getById"));
+    }
+}
@@ -1,8 +1,13 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.model.request.EmployeeBatchLookup;
 import com.reliaquest.api.model.request.EmployeeCreation;
+import com.reliaquest.api.model.request.EmployeeQuery;
 import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.model.response.EmployeeLookupResult;
+import com.reliaquest.api.model.response.SalaryStatistics;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.web.EmployeeEventStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +33,9 @@ class EmployeeControllerImplTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private EmployeeEventStream employeeEventStream;
+
     @InjectMocks
     private EmployeeControllerImpl employeeController;
 
@@ -39,17 +48,19 @@ class EmployeeControllerImplTest {
     void setUp() {
         validUuid = UUID.randomUUID();
 
-        testEmployee1 = new Employee();
-        testEmployee1.setId(validUuid);
-        testEmployee1.setEmployeeName("Will Walker");
-        testEmployee1.setEmployeeSalary(75000);
-        testEmployee1.setEmployeeAge(30);
+        testEmployee1 = Employee.builder()
+                .id(validUuid)
+                .employeeName("Will Walker")
+                .employeeSalary(75000)
+                .employeeAge(30)
+                .build();
 
-        testEmployee2 = new Employee();
-        testEmployee2.setId(UUID.randomUUID());
-        testEmployee2.setEmployeeName("Millie Bobby");
-        testEmployee2.setEmployeeSalary(85000);
-        testEmployee2.setEmployeeAge(28);
+        testEmployee2 = Employee.builder()
+                .id(UUID.randomUUID())
+                .employeeName("Millie Bobby")
+                .employeeSalary(85000)
+                .employeeAge(28)
+                .build();
 
         testEmployeeCreation = new EmployeeCreation();
         testEmployeeCreation.setName("Jere Fisher");
@@ -132,13 +143,13 @@ class EmployeeControllerImplTest {
 
     @Test
     void getEmployeeById_ValidId() {
-        when(employeeService.getEmployeeById(validUuid.toString())).thenReturn(testEmployee1);
+        when(employeeService.getEmployeeById(validUuid)).thenReturn(testEmployee1);
 
         ResponseEntity<Employee> response = employeeController.getEmployeeById(validUuid.toString());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(testEmployee1, response.getBody());
-        verify(employeeService, times(1)).getEmployeeById(validUuid.toString());
+        verify(employeeService, times(1)).getEmployeeById(validUuid);
     }
 
     @Test
@@ -257,16 +268,68 @@ class EmployeeControllerImplTest {
         verify(employeeService, times(1)).createEmployee(testEmployeeCreation);
     }
 
+    @Test
+    void getEmployeesByIds_Success() {
+        List<String> ids = List.of(validUuid.toString(), "not-a-uuid");
+        List<EmployeeLookupResult> results = List.of(
+                EmployeeLookupResult.found(validUuid.toString(), testEmployee1),
+                EmployeeLookupResult.failed("not-a-uuid", 400, "Invalid UUID format for Employee ID: not-a-uuid"));
+        when(employeeService.getEmployeesByIds(ids)).thenReturn(results);
+
+        ResponseEntity<List<EmployeeLookupResult>> response =
+                employeeController.getEmployeesByIds(new EmployeeBatchLookup(ids));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+        verify(employeeService, times(1)).getEmployeesByIds(ids);
+    }
+
+    @Test
+    void queryEmployees_Success() {
+        EmployeeQuery query = new EmployeeQuery(
+                List.of("Engineer"), null, new EmployeeQuery.Range(70000, null), null, null, List.of("-salary"), 10);
+        when(employeeService.queryEmployees(query)).thenReturn(List.of(testEmployee2, testEmployee1));
+
+        ResponseEntity<List<Employee>> response = employeeController.queryEmployees(query);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(testEmployee2, testEmployee1), response.getBody());
+        verify(employeeService, times(1)).queryEmployees(query);
+    }
+
+    @Test
+    void searchEmployees_Success() {
+        when(employeeService.searchEmployees("jon", "fuzzy", 1, 5)).thenReturn(List.of(testEmployee1));
+
+        ResponseEntity<List<Employee>> response = employeeController.searchEmployees("jon", "fuzzy", 1, 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(testEmployee1), response.getBody());
+        verify(employeeService, times(1)).searchEmployees("jon", "fuzzy", 1, 5);
+    }
+
+    @Test
+    void getSalaryStatistics_Success() {
+        SalaryStatistics statistics = new SalaryStatistics(2, 160000, 75000, 85000, 80000.0, 80000.0, Map.of("p90", 85000));
+        when(employeeService.getSalaryStatistics(List.of(90.0))).thenReturn(statistics);
+
+        ResponseEntity<SalaryStatistics> response = employeeController.getSalaryStatistics(List.of(90.0));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(statistics, response.getBody());
+        verify(employeeService, times(1)).getSalaryStatistics(List.of(90.0));
+    }
+
     @Test
     void deleteEmployeeById_ValidId() {
         String expectedName = "John Doe";
-        when(employeeService.deleteEmployeeById(validUuid.toString())).thenReturn(expectedName);
+        when(employeeService.deleteEmployeeById(validUuid)).thenReturn(expectedName);
 
         ResponseEntity<String> response = employeeController.deleteEmployeeById(validUuid.toString());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedName, response.getBody());
-        verify(employeeService, times(1)).deleteEmployeeById(validUuid.toString());
+        verify(employeeService, times(1)).deleteEmployeeById(validUuid);
     }
 
     @Test
@@ -0,0 +1,207 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.config.EmployeeQueryLimits;
+import com.reliaquest.api.model.request.EmployeeQuery;
+import com.reliaquest.api.model.response.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeQueryEngineTest {
+
+    private static final String[] TITLES = {"Engineer", "Manager", "Designer", "Analyst", "Director"};
+
+    private static final String[] DOMAINS = {"company.com", "example.com", "contractor.io"};
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EmployeeQueryLimits limits = new EmployeeQueryLimits();
+
+    private final EmployeeQueryEngine queryEngine = new EmployeeQueryEngine(limits, meterRegistry);
+
+    @Test
+    void query_EveryPlanMatchesFilteringTheWholeList() {
+        Random random = new Random(7);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(employees(random, 2000), 1, 0);
+
+        for (int i = 0; i < 500; i++) {
+            EmployeeQuery query = randomQuery(random);
+            assertEquals(expected(snapshot.employees(), query), queryEngine.query(snapshot, query), query.toString());
+        }
+        assertTrue(meterRegistry.find("employee.query").counters().size() >= 5);
+        assertEquals(1.0, meterRegistry.counter("employee.query.index.builds").count());
+    }
+
+    @Test
+    void query_SelectiveRangeUsesIndex() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(employees(new Random(1), 5000), 1, 0);
+
+        List<Employee> result = queryEngine.query(snapshot, query(null, range(30000, 30500), null, null, null, null));
+
+        assertFalse(result.isEmpty());
+        assertEquals(1.0, meterRegistry.counter("employee.query", "plan", "salary-range").count());
+    }
+
+    @Test
+    void query_TopSalariesWalkSortedColumn() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(employees(new Random(2), 5000), 1, 0);
+
+        List<Employee> result = queryEngine.query(snapshot, query(null, null, null, null, List.of("-salary"), 10));
+
+        assertEquals(expected(snapshot.employees(), query(null, null, null, null, List.of("-salary"), 10)), result);
+        assertEquals(1.0, meterRegistry.counter("employee.query", "plan", "salary-order").count());
+    }
+
+    @Test
+    void query_UnselectiveFilterScans() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(employees(new Random(3), 5000), 1, 0);
+
+        queryEngine.query(snapshot, query(null, range(0, 1_000_000), null, null, null, 10));
+
+        assertEquals(1.0, meterRegistry.counter("employee.query", "plan", "scan").count());
+    }
+
+    @Test
+    void query_IndexRebuiltForNewVersionOnly() {
+        List<Employee> employees = employees(new Random(4), 100);
+        EmployeeQuery byTitle = query(List.of("engineer"), null, null, null, null, null);
+
+        queryEngine.query(new EmployeeSnapshot(employees, 1, 0), byTitle);
+        queryEngine.query(new EmployeeSnapshot(employees, 1, 0), byTitle);
+        queryEngine.query(new EmployeeSnapshot(employees.subList(0, 50), 2, 0), byTitle);
+
+        assertEquals(2.0, meterRegistry.counter("employee.query.index.builds").count());
+    }
+
+    @Test
+    void query_InvalidQueriesRejected() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(List.of(), 1, 0);
+        limits.setMaxLimit(50);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> queryEngine.query(snapshot, query(null, range(10, 5), null, null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> queryEngine.query(snapshot, query(null, null, null, null, List.of("height"), null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> queryEngine.query(snapshot, query(null, null, null, null, null, 51)));
+    }
+
+    private static List<Employee> expected(List<Employee> employees, EmployeeQuery query) {
+        List<Employee> matches = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (matches(employee, query)) {
+                matches.add(employee);
+            }
+        }
+        if (query.getSort() != null) {
+            Comparator<Employee> order = null;
+            for (String key : query.getSort()) {
+                Comparator<Employee> next = naiveOrder(key);
+                order = order == null ? next : order.thenComparing(next);
+            }
+            matches.sort(order);
+        }
+        int limit = query.getLimit() == null ? 100 : query.getLimit();
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    private static boolean matches(Employee employee, EmployeeQuery query) {
+        if (!within(employee.getEmployeeSalary(), query.getSalary()) || !within(employee.getEmployeeAge(), query.getAge())) {
+            return false;
+        }
+        if (query.getTitles() != null && query.getTitles().stream()
+                .noneMatch(title -> title.equalsIgnoreCase(employee.getEmployeeTitle()))) {
+            return false;
+        }
+        if (query.getEmailDomain() != null && (employee.getEmployeeEmail() == null
+                || !employee.getEmployeeEmail().toLowerCase().endsWith("@" + query.getEmailDomain().toLowerCase()))) {
+            return false;
+        }
+        return query.getName() == null || employee.getEmployeeName().toLowerCase().contains(query.getName().toLowerCase());
+    }
+
+    private static boolean within(Integer value, EmployeeQuery.Range range) {
+        if (range == null || (range.getMin() == null && range.getMax() == null)) {
+            return true;
+        }
+        return value != null && (range.getMin() == null || value >= range.getMin())
+                && (range.getMax() == null || value <= range.getMax());
+    }
+
+    private static Comparator<Employee> naiveOrder(String key) {
+        boolean descending = key.startsWith("-");
+        Comparator<Integer> integers = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Comparator<String> strings = descending ? String.CASE_INSENSITIVE_ORDER.reversed() : String.CASE_INSENSITIVE_ORDER;
+        return switch (descending ? key.substring(1) : key) {
+            case "salary" -> Comparator.comparing(Employee::getEmployeeSalary, Comparator.nullsLast(integers));
+            case "age" -> Comparator.comparing(Employee::getEmployeeAge, Comparator.nullsLast(integers));
+            case "title" -> Comparator.comparing(Employee::getEmployeeTitle, Comparator.nullsLast(strings));
+            default -> Comparator.comparing(Employee::getEmployeeName, Comparator.nullsLast(strings));
+        };
+    }
+
+    private static EmployeeQuery randomQuery(Random random) {
+        List<String> titles = random.nextInt(3) == 0
+                ? List.of(TITLES[random.nextInt(TITLES.length)], TITLES[random.nextInt(TITLES.length)].toUpperCase())
+                : null;
+        EmployeeQuery.Range salary = random.nextInt(2) == 0 ? randomRange(random, 30000, 200000) : null;
+        EmployeeQuery.Range age = random.nextInt(3) == 0 ? randomRange(random, 18, 70) : null;
+        String domain = random.nextInt(4) == 0 ? DOMAINS[random.nextInt(DOMAINS.length)] : null;
+        List<String> sort = switch (random.nextInt(5)) {
+            case 0 -> List.of("salary");
+            case 1 -> List.of("-age");
+            case 2 -> List.of("title", "-salary");
+            case 3 -> List.of("-name");
+            default -> null;
+        };
+        EmployeeQuery query = query(titles, salary, age, domain, sort, random.nextInt(3) == 0 ? null : 1 + random.nextInt(50));
+        if (random.nextInt(6) == 0) {
+            query.setName("employee 1");
+        }
+        return query;
+    }
+
+    private static EmployeeQuery.Range randomRange(Random random, int lowest, int highest) {
+        int min = lowest + random.nextInt(highest - lowest);
+        int max = min + random.nextInt(Math.max(1, (highest - min) / (1 + random.nextInt(20))));
+        return new EmployeeQuery.Range(random.nextInt(5) == 0 ? null : min, random.nextInt(5) == 0 ? null : max);
+    }
+
+    private static EmployeeQuery.Range range(Integer min, Integer max) {
+        return new EmployeeQuery.Range(min, max);
+    }
+
+    private static EmployeeQuery query(
+            List<String> titles,
+            EmployeeQuery.Range salary,
+            EmployeeQuery.Range age,
+            String emailDomain,
+            List<String> sort,
+            Integer limit
+    ) {
+        return new EmployeeQuery(titles, age, salary, emailDomain, null, sort, limit);
+    }
+
+    private static List<Employee> employees(Random random, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee(
+                    UUID.randomUUID(),
+                    "Employee " + i,
+                    random.nextInt(50) == 0 ? null : 30000 + random.nextInt(170000),
+                    random.nextInt(50) == 0 ? null : 18 + random.nextInt(52),
+                    TITLES[random.nextInt(TITLES.length)],
+                    "employee" + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)]));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,230 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.config.NameSearchLimits;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchIndexTest {
+
+    private static final String[] SYLLABLES = {"jo", "an", "na", "mar", "ia", "el", "li", "son", "ber", "to", "ka", "ré"};
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final NameSearchLimits limits = new NameSearchLimits();
+
+    private final NameSearchIndex nameSearchIndex = new NameSearchIndex(limits, meterRegistry);
+
+    private long versions;
+
+    @Test
+    void search_PrefixRanksClosestNamesFirst() {
+        Employee jonathan = employee("Jonathan Smith");
+        Employee jon = employee("Jon Doe");
+        Employee jones = employee("Bill Jones");
+        Employee jane = employee("Jane Jo");
+        EmployeeSnapshot snapshot = snapshot(List.of(jonathan, jon, jones, jane));
+
+        assertEquals(List.of(jon, jones, jonathan), nameSearchIndex.search(snapshot, "jon", null, null, null));
+        assertEquals(List.of(jones), nameSearchIndex.search(snapshot, "JON b", "prefix", null, null));
+        assertEquals(List.of(jon, jones), nameSearchIndex.search(snapshot, "jon", null, null, 2));
+    }
+
+    @Test
+    void search_FuzzyMatchesMistypedAndAccentedNames() {
+        Employee renee = employee("Renée Zellweger");
+        Employee johnathan = employee("Johnathan Smith");
+        Employee john = employee("John Smith");
+        EmployeeSnapshot snapshot = snapshot(List.of(renee, johnathan, john));
+
+        assertEquals(List.of(renee), nameSearchIndex.search(snapshot, "renee zelwegger", "fuzzy", null, null));
+        assertEquals(List.of(john), nameSearchIndex.search(snapshot, "jhon smtih", "fuzzy", 2, null));
+        assertEquals(List.of(johnathan), nameSearchIndex.search(snapshot, "jonathon", "fuzzy", null, null));
+        assertEquals(List.of(), nameSearchIndex.search(snapshot, "jhon", "fuzzy", 0, null));
+        assertEquals(4.0, meterRegistry.counter("employee.search", "mode", "fuzzy").count());
+    }
+
+    @Test
+    void search_MatchesScanningEveryName() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            employees.add(employee(name(random) + " " + name(random)));
+        }
+        EmployeeSnapshot snapshot = snapshot(employees);
+
+        for (int i = 0; i < 300; i++) {
+            String name = name(random);
+            String query = random.nextInt(3) == 0 ? name + " " + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    : name.substring(0, 1 + random.nextInt(name.length()));
+            boolean fuzzy = random.nextBoolean();
+            Integer maxEdits = fuzzy && random.nextBoolean() ? random.nextInt(3) : null;
+            int limit = 1 + random.nextInt(20);
+
+            assertEquals(
+                    expected(employees, query, fuzzy, maxEdits, limit),
+                    nameSearchIndex.search(snapshot, query, fuzzy ? "fuzzy" : "prefix", maxEdits, limit),
+                    query + (fuzzy ? " fuzzy " + maxEdits : " prefix"));
+        }
+        assertEquals(1.0, meterRegistry.counter("employee.search.index.rebuilds").count());
+    }
+
+    @Test
+    void search_ChangesAppliedWithoutRebuilding() {
+        Employee jon = employee("Jon Doe");
+        List<Employee> employees = new ArrayList<>(List.of(jon, employee("Jane Smith")));
+        nameSearchIndex.search(snapshot(employees), "jon", null, null, null);
+
+        Employee jonas = employee("Jonas Brown");
+        employees.add(jonas);
+        nameSearchIndex.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, jonas));
+        nameSearchIndex.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, jonas));
+        employees.remove(jon);
+        nameSearchIndex.onEmployeeChange(change(EmployeeChangeEvent.Type.DELETED, jon));
+
+        assertEquals(List.of(jonas), nameSearchIndex.search(snapshot(employees), "jon", null, null, null));
+        assertEquals(1.0, meterRegistry.counter("employee.search.index.rebuilds").count());
+    }
+
+    @Test
+    void search_RebuiltWhenChangeMissed() {
+        List<Employee> employees = new ArrayList<>(List.of(employee("Jon Doe")));
+        nameSearchIndex.search(snapshot(employees), "jon", null, null, null);
+
+        Employee jonas = employee("Jonas Brown");
+        employees.add(jonas);
+
+        assertEquals(2, nameSearchIndex.search(snapshot(employees), "jon", null, null, null).size());
+        assertEquals(2.0, meterRegistry.counter("employee.search.index.rebuilds").count());
+    }
+
+    @Test
+    void search_RebuiltWhenEmployeeReplacedUnnoticed() {
+        List<Employee> employees = new ArrayList<>(List.of(employee("Jon Doe"), employee("Jane Smith")));
+        nameSearchIndex.search(snapshot(employees), "jon", null, null, null);
+
+        Employee jonas = employee("Jonas Brown");
+        employees.set(0, jonas);
+
+        assertEquals(List.of(jonas), nameSearchIndex.search(snapshot(employees), "jon", null, null, null));
+        assertEquals(2.0, meterRegistry.counter("employee.search.index.rebuilds").count());
+    }
+
+    @Test
+    void search_DuplicateAndMissingIdsNotRebuiltEachVersion() {
+        Employee jon = employee("Jon Doe");
+        Employee noId = Employee.builder().employeeName("Jonas Brown").build();
+        List<Employee> employees = List.of(jon, jon, noId, employee("Jane Smith"));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of(jon), nameSearchIndex.search(snapshot(employees), "jon", null, null, null));
+        }
+
+        assertEquals(1.0, meterRegistry.counter("employee.search.index.rebuilds").count());
+    }
+
+    @Test
+    void search_InvalidSearchesRejected() {
+        EmployeeSnapshot snapshot = snapshot(List.of());
+        limits.setMaxLimit(50);
+
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search(snapshot, " -- ", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search(snapshot, "jon", "regex", null, null));
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search(snapshot, "jon", "fuzzy", 3, null));
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search(snapshot, "jon", null, null, 51));
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search(snapshot, "jon", null, null, 0));
+    }
+
+    @Test
+    void distance_StopsPastMaxEdits() {
+        assertEquals(0, NameSearchIndex.distance("jon", "jon", 2));
+        assertEquals(2, NameSearchIndex.distance("jhon", "john", 2));
+        assertEquals(3, NameSearchIndex.distance("jon", "margaret", 2));
+        assertArrayEquals(new String[] {"rene", "o", "brien"}, NameSearchIndex.words("René O'Brien"));
+    }
+
+    /*
+     * Scores every employee the slow way: each query word against each name word, ranked by edits, characters
+     * beyond the query, name length, name and id.
+     */
+    private static List<Employee> expected(
+            List<Employee> employees, String query, boolean fuzzy, Integer maxEdits, int limit) {
+        String[] queryWords = NameSearchIndex.words(query);
+        record Scored(Employee employee, int edits, int extraCharacters) {
+        }
+        List<Scored> matches = new ArrayList<>();
+        for (Employee employee : employees) {
+            String[] nameWords = NameSearchIndex.words(employee.getEmployeeName());
+            int edits = 0;
+            int extraCharacters = 0;
+            boolean matched = true;
+            for (String queryWord : queryWords) {
+                int allowed = !fuzzy ? 0 : maxEdits != null ? maxEdits : queryWord.length() <= 2 ? 0
+                        : queryWord.length() <= 5 ? 1 : 2;
+                int bestEdits = Integer.MAX_VALUE;
+                int bestExtra = Integer.MAX_VALUE;
+                for (String nameWord : nameWords) {
+                    int wordEdits = fuzzy ? NameSearchIndex.distance(queryWord, nameWord, 10)
+                            : nameWord.startsWith(queryWord) ? 0 : Integer.MAX_VALUE;
+                    int wordExtra = Math.abs(nameWord.length() - queryWord.length());
+                    if (wordEdits <= allowed
+                            && (wordEdits < bestEdits || (wordEdits == bestEdits && wordExtra < bestExtra))) {
+                        bestEdits = wordEdits;
+                        bestExtra = wordExtra;
+                    }
+                }
+                if (bestEdits == Integer.MAX_VALUE) {
+                    matched = false;
+                    break;
+                }
+                edits += bestEdits;
+                extraCharacters += bestExtra;
+            }
+            if (matched) {
+                matches.add(new Scored(employee, edits, extraCharacters));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Scored::edits)
+                .thenComparingInt(Scored::extraCharacters)
+                .thenComparingInt(scored -> scored.employee().getEmployeeName().length())
+                .thenComparing(scored -> scored.employee().getEmployeeName(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(scored -> scored.employee().getId()));
+        return matches.stream().limit(limit).map(Scored::employee).toList();
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 1 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private EmployeeSnapshot snapshot(List<Employee> employees) {
+        return new EmployeeSnapshot(List.copyOf(employees), ++versions, 0);
+    }
+
+    private static EmployeeChangeEvent change(EmployeeChangeEvent.Type type, Employee employee) {
+        return new EmployeeChangeEvent(type, employee, EmployeeChangeEvent.Origin.LOCAL);
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .employeeName(name)
+                .build();
+    }
+}
@@ -1,18 +1,34 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.analytics.SalaryAnalytics;
+import com.reliaquest.api.cache.EmployeeIdCache;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.RequestHedger;
+import com.reliaquest.api.client.UpstreamGuard;
+import com.reliaquest.api.config.BatchLookup;
+import com.reliaquest.api.config.EmployeeCache;
 import com.reliaquest.api.config.EmployeeMock;
+import com.reliaquest.api.config.EmployeeQueryLimits;
+import com.reliaquest.api.config.NameSearchLimits;
+import com.reliaquest.api.config.UpstreamHedging;
+import com.reliaquest.api.config.UpstreamResilience;
 import com.reliaquest.api.model.request.EmployeeCreation;
 import com.reliaquest.api.model.request.EmployeeDeletion;
 import com.reliaquest.api.model.response.*;
+import com.reliaquest.api.query.EmployeeQueryEngine;
+import com.reliaquest.api.search.NameSearchIndex;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.TooManyRequestsException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -38,19 +54,36 @@ class EmployeeServiceImplTest {
     @Mock
     private EmployeeMock mockEmployeeProperties;
 
-    @InjectMocks
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private EmployeeServiceImpl employeeService;
 
     private static final String BASE_URI = "http://localhost:8080/api/v1/employees";
 
     @BeforeEach
     void setUp() {
-        when(mockEmployeeProperties.getUri()).thenReturn(BASE_URI);
+        lenient().when(mockEmployeeProperties.getUri()).thenReturn(BASE_URI);
+        UpstreamGuard upstreamGuard = new UpstreamGuard(new UpstreamResilience(), meterRegistry);
+        RequestHedger requestHedger = new RequestHedger(new UpstreamHedging(), meterRegistry);
+        EmployeeClient employeeClient = new EmployeeClient(
+                restTemplate, mockEmployeeProperties, meterRegistry, upstreamGuard, requestHedger);
+        EmployeeCache employeeCache = new EmployeeCache();
+        EmployeeIdCache employeeIdCache = new EmployeeIdCache(employeeCache, meterRegistry);
+        employeeService = new EmployeeServiceImpl(
+                employeeClient,
+                new EmployeeSnapshotCache(employeeClient, employeeIdCache, employeeCache, meterRegistry),
+                employeeIdCache,
+                new BatchLookup(),
+                new EmployeeQueryEngine(new EmployeeQueryLimits(), meterRegistry),
+                new SalaryAnalytics(meterRegistry),
+                new NameSearchIndex(new NameSearchLimits(), meterRegistry),
+                event -> { });
     }
 
     @Test
     void getAllEmployees_EmployeesExist() {
-        List<EmployeeServer> serverEmployees = createMockServerEmployees();
+        List<Employee> serverEmployees = createMockServerEmployees();
         EmployeeListApiResponse responseDto = new EmployeeListApiResponse();
         responseDto.setData(serverEmployees);
 
@@ -97,7 +130,7 @@ class EmployeeServiceImplTest {
     @Test
     void getEmployeesByNameSearch_SearchStringMatches() {
         String searchString = "john";
-        List<EmployeeServer> serverEmployees = createMockServerEmployees();
+        List<Employee> serverEmployees = createMockServerEmployees();
         EmployeeListApiResponse responseDto = new EmployeeListApiResponse();
         responseDto.setData(serverEmployees);
 
@@ -119,7 +152,7 @@ class EmployeeServiceImplTest {
     @Test
     void getEmployeesByNameSearch_NoMatches() {
         String searchString = "nonexistent";
-        List<EmployeeServer> serverEmployees = createMockServerEmployees();
+        List<Employee> serverEmployees = createMockServerEmployees();
         EmployeeListApiResponse responseDto = new EmployeeListApiResponse();
         responseDto.setData(serverEmployees);
 
@@ -140,7 +173,7 @@ class EmployeeServiceImplTest {
     @Test
     void getEmployeeById_EmployeeExists() {
         UUID employeeId = UUID.randomUUID();
-        EmployeeServer serverEmployee = createMockServerEmployee(employeeId, "John Doe", "john.doe@example.com", 50000, "Developer", 30);
+        Employee serverEmployee = createMockServerEmployee(employeeId, "John Doe", "john.doe@example.com", 50000, "Developer", 30);
         EmployeeApiResponse responseDto = new EmployeeApiResponse();
         responseDto.setData(serverEmployee);
 
@@ -152,7 +185,7 @@ class EmployeeServiceImplTest {
                 eq(Map.of())
         )).thenReturn(ResponseEntity.ok(responseDto));
 
-        Employee result = employeeService.getEmployeeById(employeeId.toString());
+        Employee result = employeeService.getEmployeeById(employeeId);
 
         assertNotNull(result);
         assertEquals(employeeId, result.getId());
@@ -179,12 +212,74 @@ class EmployeeServiceImplTest {
 
         EmployeeNotFoundException exception = assertThrows(
                 EmployeeNotFoundException.class,
-                () -> employeeService.getEmployeeById(employeeId.toString())
+                () -> employeeService.getEmployeeById(employeeId)
         );
 
         assertEquals("Employee with ID " + employeeId + " not found.", exception.getMessage());
     }
 
+    @Test
+    void getEmployeesByIds_ResultsInRequestOrder() {
+        UUID cachedId = UUID.randomUUID();
+        UUID fetchedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        EmployeeListApiResponse listResponse = new EmployeeListApiResponse();
+        listResponse.setData(List.of(
+                createMockServerEmployee(cachedId, "John Doe", "john@example.com", 50000, "Developer", 30)));
+        EmployeeApiResponse fetchedResponse = new EmployeeApiResponse();
+        fetchedResponse.setData(createMockServerEmployee(fetchedId, "Jane Smith", "jane@example.com", 60000, "Manager", 35));
+
+        when(restTemplate.exchange(
+                eq(BASE_URI),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeListApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(listResponse));
+        when(restTemplate.exchange(
+                eq(BASE_URI + "/" + fetchedId),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(fetchedResponse));
+        when(restTemplate.exchange(
+                eq(BASE_URI + "/" + missingId),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeApiResponse.class),
+                eq(Map.of())
+        )).thenThrow(HttpClientErrorException.create(
+                org.springframework.http.HttpStatus.NOT_FOUND,
+                "Not Found",
+                org.springframework.http.HttpHeaders.EMPTY,
+                null,
+                null
+        ));
+
+        employeeService.getAllEmployees();
+        List<EmployeeLookupResult> results = employeeService.getEmployeesByIds(List.of(
+                fetchedId.toString(), "not-a-uuid", missingId.toString(), cachedId.toString()));
+
+        assertEquals(4, results.size());
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals("Jane Smith", results.get(0).getEmployee().getEmployeeName());
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals(404, results.get(2).getStatus());
+        assertEquals("Employee with ID " + missingId + " not found.", results.get(2).getError());
+        assertEquals(200, results.get(3).getStatus());
+        assertEquals("John Doe", results.get(3).getEmployee().getEmployeeName());
+        verify(restTemplate, never()).exchange(
+                eq(BASE_URI + "/" + cachedId), any(HttpMethod.class), any(HttpEntity.class), eq(EmployeeApiResponse.class), anyMap());
+    }
+
+    @Test
+    void getEmployeesByIds_TooManyIds() {
+        List<String> ids = java.util.Collections.nCopies(101, UUID.randomUUID().toString());
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByIds(ids));
+    }
+
     @Test
     void getEmployeeById_ResponseDataIsNull() {
         UUID employeeId = UUID.randomUUID();
@@ -201,7 +296,7 @@ class EmployeeServiceImplTest {
 
         EmployeeNotFoundException exception = assertThrows(
                 EmployeeNotFoundException.class,
-                () -> employeeService.getEmployeeById(employeeId.toString())
+                () -> employeeService.getEmployeeById(employeeId)
         );
 
         assertEquals("Employee with ID " + employeeId + " not found.", exception.getMessage());
@@ -209,7 +304,7 @@ class EmployeeServiceImplTest {
 
     @Test
     void getHighestSalaryOfEmployees_EmployeesExist() {
-        List<EmployeeServer> serverEmployees = Arrays.asList(
+        List<Employee> serverEmployees = Arrays.asList(
                 createMockServerEmployee(UUID.randomUUID(), "John Doe", "john@example.com", 50000, "Developer", 30),
                 createMockServerEmployee(UUID.randomUUID(), "Jane Smith", "jane@example.com", 75000, "Manager", 35),
                 createMockServerEmployee(UUID.randomUUID(), "Bob Johnson", "bob@example.com", 60000, "Senior Developer", 32)
@@ -250,7 +345,7 @@ class EmployeeServiceImplTest {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_MoreThanTenEmployees() {
-        List<EmployeeServer> serverEmployees = createMockServerEmployeesForTopTen();
+        List<Employee> serverEmployees = createMockServerEmployeesForTopTen();
         EmployeeListApiResponse responseDto = new EmployeeListApiResponse();
         responseDto.setData(serverEmployees);
 
@@ -272,7 +367,7 @@ class EmployeeServiceImplTest {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_EmployeesWithNullSalary() {
-        List<EmployeeServer> serverEmployees = Arrays.asList(
+        List<Employee> serverEmployees = Arrays.asList(
                 createMockServerEmployee(UUID.randomUUID(), "John Doe", "john@example.com", null, "Developer", 30),
                 createMockServerEmployee(UUID.randomUUID(), "Jane Smith", "jane@example.com", 50000, "Manager", 35)
         );
@@ -302,7 +397,7 @@ class EmployeeServiceImplTest {
         creationDto.setAge(28);
 
         UUID newEmployeeId = UUID.randomUUID();
-        EmployeeServer createdServerEmployee = createMockServerEmployee(newEmployeeId, "New Employee", "new@example.com", 60000, "Developer", 28);
+        Employee createdServerEmployee = createMockServerEmployee(newEmployeeId, "New Employee", "new@example.com", 60000, "Developer", 28);
         EmployeeApiResponse responseDto = new EmployeeApiResponse();
         responseDto.setData(createdServerEmployee);
 
@@ -349,7 +444,7 @@ class EmployeeServiceImplTest {
         String employeeName = "John Doe";
 
         // Mock getEmployeeById call
-        EmployeeServer serverEmployee = createMockServerEmployee(employeeId, employeeName, "john@example.com", 50000, "Developer", 30);
+        Employee serverEmployee = createMockServerEmployee(employeeId, employeeName, "john@example.com", 50000, "Developer", 30);
         EmployeeApiResponse getResponseDto = new EmployeeApiResponse();
         getResponseDto.setData(serverEmployee);
 
@@ -373,7 +468,7 @@ class EmployeeServiceImplTest {
                 eq(Map.of())
         )).thenReturn(ResponseEntity.ok(deleteResponseDto));
 
-        String result = employeeService.deleteEmployeeById(employeeId.toString());
+        String result = employeeService.deleteEmployeeById(employeeId);
 
         assertEquals(employeeName, result);
 
@@ -393,6 +488,71 @@ class EmployeeServiceImplTest {
         assertTrue(deleteEntity.getBody() instanceof EmployeeDeletion);
         EmployeeDeletion deletionDto = (EmployeeDeletion) deleteEntity.getBody();
         assertEquals(employeeName, deletionDto.getName());
+        assertEquals(employeeId, deletionDto.getId());
+    }
+
+    @Test
+    void deleteEmployeeById_CachedNameRefreshedFirst() {
+        UUID employeeId = UUID.randomUUID();
+        EmployeeApiResponse cachedDto = new EmployeeApiResponse();
+        cachedDto.setData(createMockServerEmployee(employeeId, "John Doe", "john@example.com", 50000, "Developer", 30));
+        EmployeeApiResponse currentDto = new EmployeeApiResponse();
+        currentDto.setData(createMockServerEmployee(employeeId, "John Smith", "john@example.com", 50000, "Developer", 30));
+
+        when(restTemplate.exchange(
+                eq(BASE_URI + "/" + employeeId),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(cachedDto)).thenReturn(ResponseEntity.ok(currentDto));
+
+        EmployeeDeleteApiResponse deleteResponseDto = new EmployeeDeleteApiResponse();
+        deleteResponseDto.setData(true);
+        ArgumentCaptor<HttpEntity> deleteCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(
+                eq(BASE_URI),
+                eq(HttpMethod.DELETE),
+                deleteCaptor.capture(),
+                eq(EmployeeDeleteApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(deleteResponseDto));
+
+        employeeService.getEmployeeById(employeeId);
+        String result = employeeService.deleteEmployeeById(employeeId);
+
+        assertEquals("John Smith", result);
+        assertEquals("John Smith", ((EmployeeDeletion) deleteCaptor.getValue().getBody()).getName());
+    }
+
+    @Test
+    void deleteEmployeeById_DeleteResponseFalse() {
+        UUID employeeId = UUID.randomUUID();
+        EmployeeApiResponse getResponseDto = new EmployeeApiResponse();
+        getResponseDto.setData(createMockServerEmployee(employeeId, "John Doe", "john@example.com", 50000, "Developer", 30));
+
+        when(restTemplate.exchange(
+                eq(BASE_URI + "/" + employeeId),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(EmployeeApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(getResponseDto));
+
+        EmployeeDeleteApiResponse deleteResponseDto = new EmployeeDeleteApiResponse();
+        deleteResponseDto.setData(false);
+        when(restTemplate.exchange(
+                eq(BASE_URI),
+                eq(HttpMethod.DELETE),
+                any(HttpEntity.class),
+                eq(EmployeeDeleteApiResponse.class),
+                eq(Map.of())
+        )).thenReturn(ResponseEntity.ok(deleteResponseDto));
+
+        String result = employeeService.deleteEmployeeById(employeeId);
+
+        assertEquals("", result);
+        assertEquals("John Doe", employeeService.getEmployeeById(employeeId).getEmployeeName());
     }
 
     @Test
@@ -401,7 +561,7 @@ class EmployeeServiceImplTest {
         String employeeName = "John Doe";
 
         // Mock getEmployeeById call
-        EmployeeServer serverEmployee = createMockServerEmployee(employeeId, employeeName, "john@example.com", 50000, "Developer", 30);
+        Employee serverEmployee = createMockServerEmployee(employeeId, employeeName, "john@example.com", 50000, "Developer", 30);
         EmployeeApiResponse getResponseDto = new EmployeeApiResponse();
         getResponseDto.setData(serverEmployee);
 
@@ -422,7 +582,7 @@ class EmployeeServiceImplTest {
                 eq(Map.of())
         )).thenReturn(ResponseEntity.ok(null));
 
-        String result = employeeService.deleteEmployeeById(employeeId.toString());
+        String result = employeeService.deleteEmployeeById(employeeId);
 
         assertEquals("", result);
     }
@@ -452,6 +612,8 @@ class EmployeeServiceImplTest {
         );
 
         assertEquals("Too many requests made to the employee service. Please try again later.", exception.getMessage());
+        assertEquals(1.0, meterRegistry.counter("employee.upstream.rate.limited", "operation", "getAll").count());
+        assertEquals(1, meterRegistry.get("employee.upstream.requests").tag("outcome", "rate_limited").timer().count());
     }
 
     @Test
@@ -472,42 +634,42 @@ class EmployeeServiceImplTest {
         assertTrue(exception.getMessage().contains("An error occurred while making the HTTP request"));
     }
 
-    private List<EmployeeServer> createMockServerEmployees() {
+    private List<Employee> createMockServerEmployees() {
         return Arrays.asList(
                 createMockServerEmployee(UUID.randomUUID(), "John Doe", "john.doe@example.com", 50000, "Developer", 30),
                 createMockServerEmployee(UUID.randomUUID(), "Jane Smith", "jane.smith@example.com", 60000, "Manager", 35)
         );
     }
 
-    private List<EmployeeServer> createMockServerEmployeesForTopTen() {
-        List<EmployeeServer> employees = Arrays.asList(
-                createMockServerEmployee(UUID.randomUUID(), "Example 1", "emp1@example.com", 30000, "Junior", 25),
-                createMockServerEmployee(UUID.randomUUID(), "Example 2", "emp2@example.com", 35000, "Junior", 26),
-                createMockServerEmployee(UUID.randomUUID(), "Example 3", "emp3@example.com", 40000, "Junior", 27),
-                createMockServerEmployee(UUID.randomUUID(), "Example 4", "emp4@example.com", 45000, "Mid", 28),
-                createMockServerEmployee(UUID.randomUUID(), "Example 5", "emp5@example.com", 50000, "Mid", 29),
-                createMockServerEmployee(UUID.randomUUID(), "Example 6", "emp6@example.com", 55000, "Mid", 30),
-                createMockServerEmployee(UUID.randomUUID(), "Example 7", "emp7@example.com", 60000, "Senior", 31),
-                createMockServerEmployee(UUID.randomUUID(), "Example 8", "emp8@example.com", 65000, "Senior", 32),
-                createMockServerEmployee(UUID.randomUUID(), "Example 9", "emp9@example.com", 70000, "Senior", 33),
-                createMockServerEmployee(UUID.randomUUID(), "Example 10", "emp10@example.com", 75000, "Lead", 34),
-                createMockServerEmployee(UUID.randomUUID(), "Example 11", "emp11@example.com", 80000, "Lead", 35),
-                createMockServerEmployee(UUID.randomUUID(), "Example 12", "emp12@example.com", 85000, "Manager", 36),
-                createMockServerEmployee(UUID.randomUUID(), "Example 13", "emp13@example.com", 90000, "Manager", 37),
-                createMockServerEmployee(UUID.randomUUID(), "Example 14", "emp14@example.com", 95000, "Director", 38),
-                createMockServerEmployee(UUID.randomUUID(), "Example 15", "emp15@example.com", 100000, "Director", 39)
+    private List<Employee> createMockServerEmployeesForTopTen() {
+        List<Employee> employees = Arrays.asList(
+                createMockServerEmployee(UUID.randomUUID(), "Employee 1", "emp1@example.com", 30000, "Junior", 25),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 2", "emp2@example.com", 35000, "Junior", 26),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 3", "emp3@example.com", 40000, "Junior", 27),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 4", "emp4@example.com", 45000, "Mid", 28),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 5", "emp5@example.com", 50000, "Mid", 29),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 6", "emp6@example.com", 55000, "Mid", 30),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 7", "emp7@example.com", 60000, "Senior", 31),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 8", "emp8@example.com", 65000, "Senior", 32),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 9", "emp9@example.com", 70000, "Senior", 33),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 10", "emp10@example.com", 75000, "Lead", 34),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 11", "emp11@example.com", 80000, "Lead", 35),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 12", "emp12@example.com", 85000, "Manager", 36),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 13", "emp13@example.com", 90000, "Manager", 37),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 14", "emp14@example.com", 95000, "Director", 38),
+                createMockServerEmployee(UUID.randomUUID(), "Employee 15", "emp15@example.com", 100000, "Director", 39)
         );
         return employees;
     }
 
-    private EmployeeServer createMockServerEmployee(UUID id, String name, String email, Integer salary, String title, Integer age) {
-        EmployeeServer employee = new EmployeeServer();
-        employee.setId(id);
-        employee.setEmployeeName(name);
-        employee.setEmployeeEmail(email);
-        employee.setEmployeeSalary(salary);
-        employee.setEmployeeTitle(title);
-        employee.setEmployeeAge(age);
-        return employee;
+    private Employee createMockServerEmployee(UUID id, String name, String email, Integer salary, String title, Integer age) {
+        return Employee.builder()
+                .id(id)
+                .employeeName(name)
+                .employeeEmail(email)
+                .employeeSalary(salary)
+                .employeeTitle(title)
+                .employeeAge(age)
+                .build();
     }
 }
\ No newline at end of file
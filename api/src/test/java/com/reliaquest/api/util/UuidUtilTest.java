@@ -0,0 +1,36 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidUtilTest {
+
+    @Test
+    void parseUUID_MatchesUuidFromString() {
+        for (int i = 0; i < 1000; i++) {
+            UUID expected = UUID.randomUUID();
+            assertEquals(expected, UuidUtil.parseUUID(expected.toString()));
+            assertEquals(expected, UuidUtil.parseUUID(expected.toString().toUpperCase()));
+        }
+        assertEquals(new UUID(-1, -1), UuidUtil.parseUUID("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+        assertEquals(new UUID(0, 0), UuidUtil.parseUUID("00000000-0000-0000-0000-000000000000"));
+    }
+
+    @Test
+    void parseUUID_InvalidInput() {
+        assertNull(UuidUtil.parseUUID(null));
+        assertNull(UuidUtil.parseUUID(""));
+        assertNull(UuidUtil.parseUUID("invalid-uuid"));
+        assertNull(UuidUtil.parseUUID("1-1-1-1-1"));
+        assertNull(UuidUtil.parseUUID("123e4567-e89b-12d3-a456-4266141740000"));
+        assertNull(UuidUtil.parseUUID("123e4567e89b-12d3-a456-4266141740000"));
+        assertNull(UuidUtil.parseUUID("123e4567-e89b-12d3-a456-42661417400g"));
+        assertNull(UuidUtil.parseUUID("123e4567-e89b-12d3-a456-42661417400٠"));
+        assertNull(UuidUtil.parseUUID("+23e4567-e89b-12d3-a456-426614174000"));
+        assertFalse(UuidUtil.isValidUUID("invalid-uuid"));
+        assertTrue(UuidUtil.isValidUUID("123e4567-e89b-12d3-a456-426614174000"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.api.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedResponseInterceptorTest {
+
+    @Test
+    void acceptsGzip() {
+        assertTrue(CachedResponseInterceptor.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CachedResponseInterceptor.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(CachedResponseInterceptor.acceptsGzip("*"));
+        assertFalse(CachedResponseInterceptor.acceptsGzip(null));
+        assertFalse(CachedResponseInterceptor.acceptsGzip("identity"));
+        assertFalse(CachedResponseInterceptor.acceptsGzip("gzip;q=0, deflate"));
+        assertFalse(CachedResponseInterceptor.acceptsGzip("gzip;q=0.000"));
+    }
+
+    @Test
+    void acceptsJson() {
+        assertTrue(CachedResponseInterceptor.acceptsJson(null));
+        assertTrue(CachedResponseInterceptor.acceptsJson("*/*"));
+        assertTrue(CachedResponseInterceptor.acceptsJson("text/html, application/json;q=0.9"));
+        assertFalse(CachedResponseInterceptor.acceptsJson("application/xml"));
+        assertFalse(CachedResponseInterceptor.acceptsJson("not a media type"));
+    }
+}
@@ -0,0 +1,242 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EventStream;
+import com.reliaquest.api.controller.EmployeeControllerImpl;
+import com.reliaquest.api.exception.exceptionHandler.GlobalExceptionHandler;
+import com.reliaquest.api.model.response.Employee;
+import com.reliaquest.api.service.EmployeeChangeEvent;
+import com.reliaquest.api.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EmployeeEventStreamTest {
+
+    private MeterRegistry meterRegistry;
+
+    private final EventStream settings = new EventStream();
+
+    private EmployeeEventStream eventStream;
+
+    private MockMvc mockMvc;
+
+    private final CountDownLatch unstall = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        settings.setBufferSize(4);
+        settings.setMaxSubscribers(2);
+        settings.setHeartbeat(Duration.ZERO);
+        start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        unstall.countDown();
+        eventStream.shutdown();
+    }
+
+    @Test
+    void subscribe_ChangesPushedToEverySubscriber() throws Exception {
+        MockHttpServletResponse first = subscribe(null);
+        MockHttpServletResponse second = subscribe(null);
+
+        eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "John Doe"));
+        eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.DELETED, "Jane Smith"));
+
+        for (MockHttpServletResponse response : new MockHttpServletResponse[] {first, second}) {
+            String body = awaitContaining(response, "Jane Smith");
+            assertTrue(body.contains("id:" + id(0) + "\nevent:created\n"));
+            assertTrue(body.indexOf("John Doe") < body.indexOf("id:" + id(1) + "\nevent:deleted\n"));
+        }
+        assertEquals(2.0, meterRegistry.get("employee.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void subscribe_ResumesAfterLastEventId() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "Employee " + i));
+        }
+
+        String body = awaitContaining(subscribe(id(0)), "Employee 2");
+
+        assertFalse(body.contains("Employee 0"));
+        assertTrue(body.contains("id:" + id(1) + "\nevent:created\n"));
+        assertFalse(body.contains("event:reset"));
+    }
+
+    @Test
+    void subscribe_LappedSubscriberReset() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "Employee " + i));
+        }
+
+        MockHttpServletResponse response = subscribe(id(0));
+        assertEquals("id:" + id(5) + "\nevent:reset\ndata:{}\n\n", awaitContaining(response, "event:reset"));
+        eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "Employee 6"));
+        String body = awaitContaining(response, "Employee 6");
+
+        assertTrue(body.contains("id:" + id(6) + "\nevent:created\n"));
+        assertFalse(body.contains("Employee 5"));
+        assertEquals(1.0, meterRegistry.counter("employee.events", "outcome", "lapped").count());
+    }
+
+    @Test
+    void subscribe_IdFromAnotherIncarnationReset() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "Employee " + i));
+        }
+
+        MockHttpServletResponse restarted = subscribe(UUID.randomUUID() + ":5");
+        MockHttpServletResponse unprefixed = subscribe("5");
+
+        for (MockHttpServletResponse response : new MockHttpServletResponse[] {restarted, unprefixed}) {
+            assertEquals("id:" + id(7) + "\nevent:reset\ndata:{}\n\n", awaitContaining(response, "event:reset"));
+        }
+        eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "Employee 8"));
+        String body = awaitContaining(restarted, "Employee 8");
+        assertFalse(body.contains("Employee 6"));
+        assertTrue(body.contains("id:" + id(8) + "\nevent:created\n"));
+    }
+
+    @Test
+    void subscribe_RejectedAtMaxSubscribers() throws Exception {
+        subscribe(null);
+        subscribe(null);
+
+        mockMvc.perform(get("/api/v1/employeeDetails/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void subscribe_StalledSubscriberDroppedWithoutHoldingUpOthers() throws Exception {
+        eventStream.shutdown();
+        settings.setDispatchThreads(1);
+        settings.setWriteTimeout(Duration.ofMillis(100));
+        start();
+        mockMvc.perform(get("/api/v1/employeeDetails/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("X-Stall", "true"))
+                .andExpect(request().asyncStarted());
+        MockHttpServletResponse healthy = subscribe(null);
+
+        eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "John Doe"));
+        awaitContaining(healthy, "John Doe");
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.counter("employee.events", "outcome", "stalled").count() == 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        eventStream.onEmployeeChange(change(EmployeeChangeEvent.Type.CREATED, "Jane Smith"));
+
+        awaitContaining(healthy, "Jane Smith");
+        assertEquals(1.0, meterRegistry.counter("employee.events", "outcome", "stalled").count());
+        assertEquals(1.0, meterRegistry.get("employee.events.subscribers").gauge().value());
+    }
+
+    private void start() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventStream = new EmployeeEventStream(settings, new ObjectMapper(), meterRegistry);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EmployeeControllerImpl(mock(EmployeeService.class), eventStream))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilter((request, response, chain) -> chain.doFilter(request,
+                        ((HttpServletRequest) request).getHeader("X-Stall") != null
+                                ? stalling((HttpServletResponse) response) : response))
+                .build();
+    }
+
+    /*
+     * A client that has stopped reading: every write blocks until the test ends.
+     */
+    private HttpServletResponse stalling(HttpServletResponse response) {
+        ServletOutputStream blocked = new ServletOutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                try {
+                    unstall.await();
+                } catch (InterruptedException ex) {
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return false;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+        return new HttpServletResponseWrapper(response) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return blocked;
+            }
+        };
+    }
+
+    private String id(long sequence) {
+        return eventStream.getIncarnation() + ":" + sequence;
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        var request = get("/api/v1/employeeDetails/events").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String awaitContaining(MockHttpServletResponse response, String text) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String body = response.getContentAsString();
+        while (!body.contains(text) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        assertTrue(body.contains(text), body);
+        return body;
+    }
+
+    private static EmployeeChangeEvent change(EmployeeChangeEvent.Type type, String name) {
+        Employee employee = Employee.builder()
+                .id(UUID.randomUUID())
+                .employeeName(name)
+                .build();
+        return new EmployeeChangeEvent(type, employee, EmployeeChangeEvent.Origin.LOCAL);
+    }
+}
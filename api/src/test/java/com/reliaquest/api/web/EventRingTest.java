@@ -0,0 +1,28 @@
+package com.reliaquest.api.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRingTest {
+
+    @Test
+    void capacityRoundedUpToPowerOfTwo() {
+        assertEquals(8, new EventRing<String>(5).capacity());
+        assertEquals(8, new EventRing<String>(8).capacity());
+    }
+
+    @Test
+    void get_PublishedEventsReadableUntilOverwritten() {
+        EventRing<String> ring = new EventRing<>(4);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, ring.publish("event-" + i));
+        }
+
+        assertEquals(6, ring.head());
+        assertNull(ring.get(1));
+        assertEquals("event-2", ring.get(2));
+        assertEquals("event-5", ring.get(5));
+        assertNull(ring.get(6));
+    }
+}
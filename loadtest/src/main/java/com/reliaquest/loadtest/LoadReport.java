@@ -0,0 +1,166 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Summarises a run as a human readable table, a JSON document that later runs can be compared against, and one
+ * HdrHistogram percentile distribution file per operation.
+ */
+public class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadTestConfig config;
+    private final Map<Operation, OperationStats> stats;
+    private final Duration measured;
+    private final ObjectMapper objectMapper;
+
+    public LoadReport(
+            LoadTestConfig config, Map<Operation, OperationStats> stats, Duration measured, ObjectMapper objectMapper) {
+        this.config = config;
+        this.stats = stats;
+        this.measured = measured;
+        this.objectMapper = objectMapper;
+    }
+
+    public Path write() throws IOException {
+        Files.createDirectories(config.reportDir());
+        final ObjectNode json = toJson();
+        final Path jsonFile = config.reportDir().resolve(config.label() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(jsonFile.toFile(), json);
+
+        for (var entry : stats.entrySet()) {
+            final Path histogramFile = config.reportDir()
+                    .resolve(config.label() + "-" + entry.getKey().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(histogramFile))) {
+                entry.getValue().latency().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+
+        final Path textFile = config.reportDir().resolve(config.label() + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(textFile))) {
+            print(out, json);
+        }
+        print(System.out, json);
+        return jsonFile;
+    }
+
+    private ObjectNode toJson() {
+        final ObjectNode json = objectMapper.createObjectNode();
+        json.put("label", config.label());
+        json.put("concurrency", config.concurrency());
+        json.put("measuredSeconds", measured.toMillis() / 1000.0);
+        json.put("mix", config.mix().toString());
+        final ObjectNode operations = json.putObject("operations");
+        final Histogram total = new Histogram(3);
+        long succeeded = 0;
+        long rateLimited = 0;
+        long failed = 0;
+        for (var entry : stats.entrySet()) {
+            final OperationStats operation = entry.getValue();
+            operations.set(
+                    entry.getKey().key(),
+                    summary(operation.latency(), operation.succeeded(), operation.rateLimited(), operation.failed()));
+            total.add(operation.latency());
+            succeeded += operation.succeeded();
+            rateLimited += operation.rateLimited();
+            failed += operation.failed();
+        }
+        json.set("total", summary(total, succeeded, rateLimited, failed));
+        return json;
+    }
+
+    private ObjectNode summary(Histogram latency, long succeeded, long rateLimited, long failed) {
+        final ObjectNode node = objectMapper.createObjectNode();
+        node.put("requests", latency.getTotalCount());
+        node.put("succeeded", succeeded);
+        node.put("rateLimited", rateLimited);
+        node.put("failed", failed);
+        node.put("throughputPerSecond", latency.getTotalCount() / Math.max(measured.toMillis() / 1000.0, 0.001));
+        node.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+        node.put("p90Ms", millis(latency.getValueAtPercentile(90)));
+        node.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+        node.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+        node.put("maxMs", millis(latency.getMaxValue()));
+        node.put("meanMs", latency.getTotalCount() == 0 ? 0 : latency.getMean() / NANOS_PER_MILLI);
+        return node;
+    }
+
+    private void print(PrintStream out, JsonNode json) throws IOException {
+        out.printf(
+                "Load test '%s': concurrency %d, measured %.1fs, mix %s%n%n",
+                config.label(),
+                config.concurrency(),
+                json.path("measuredSeconds").asDouble(),
+                config.mix());
+        out.printf(
+                "%-8s %9s %9s %7s %7s %10s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "2xx", "429", "other", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        json.path("operations").fields().forEachRemaining(entry -> printRow(out, entry.getKey(), entry.getValue()));
+        printRow(out, "total", json.path("total"));
+
+        if (config.baseline() != null && Files.exists(config.baseline())) {
+            final JsonNode baseline = objectMapper.readTree(config.baseline().toFile());
+            out.printf(
+                    "%nCompared with '%s' (current vs baseline):%n",
+                    baseline.path("label").asText());
+            out.printf("%-8s %22s %22s %22s%n", "op", "req/s", "p50 ms", "p99 ms");
+            json.path("operations")
+                    .fields()
+                    .forEachRemaining(entry -> printComparison(
+                            out,
+                            entry.getKey(),
+                            entry.getValue(),
+                            baseline.path("operations").path(entry.getKey())));
+            printComparison(out, "total", json.path("total"), baseline.path("total"));
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, JsonNode node) {
+        out.printf(
+                "%-8s %9d %9d %7d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                node.path("requests").asLong(),
+                node.path("succeeded").asLong(),
+                node.path("rateLimited").asLong(),
+                node.path("failed").asLong(),
+                node.path("throughputPerSecond").asDouble(),
+                node.path("p50Ms").asDouble(),
+                node.path("p90Ms").asDouble(),
+                node.path("p99Ms").asDouble(),
+                node.path("p999Ms").asDouble(),
+                node.path("maxMs").asDouble());
+    }
+
+    private static void printComparison(PrintStream out, String name, JsonNode current, JsonNode baseline) {
+        if (baseline.isMissingNode()) {
+            return;
+        }
+        out.printf(
+                "%-8s %22s %22s %22s%n",
+                name,
+                delta(current, baseline, "throughputPerSecond"),
+                delta(current, baseline, "p50Ms"),
+                delta(current, baseline, "p99Ms"));
+    }
+
+    private static String delta(JsonNode current, JsonNode baseline, String field) {
+        final double now = current.path(field).asDouble();
+        final double before = baseline.path(field).asDouble();
+        final double change = before == 0 ? 0 : (now - before) / before * 100;
+        return "%.2f vs %.2f (%+.1f%%)".formatted(now, before, change);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Boots the mock server and the api in their own JVMs, drives a closed-loop workload with a configurable mix of
+ * operations from {@code loadtest.concurrency} threads and reports HdrHistogram latency percentiles and throughput.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        Files.createDirectories(config.reportDir());
+
+        final List<ManagedApplication> applications = new ArrayList<>();
+        int exitCode = 1;
+        try {
+            if (config.bootApplications()) {
+                applications.add(start(config, client, "server"));
+                applications.add(start(config, client, "api"));
+            }
+            final Workload workload = new Workload(client, objectMapper, config.apiUri());
+            workload.seed();
+
+            final Map<Operation, OperationStats> stats = run(config, workload);
+            new LoadReport(config, stats, config.duration(), objectMapper).write();
+            exitCode = 0;
+        } catch (Exception | Error ex) {
+            // the exit below would otherwise swallow the failure and report success to Gradle
+            log.error("Load test failed", ex);
+        } finally {
+            for (ManagedApplication application : applications) {
+                application.close();
+            }
+            // the HttpClient executor threads would keep the JVM alive
+            System.exit(exitCode);
+        }
+    }
+
+    private static ManagedApplication start(LoadTestConfig config, HttpClient client, String name)
+            throws IOException, InterruptedException {
+        final boolean server = "server".equals(name);
+        final var application = ManagedApplication.start(
+                name,
+                server ? config.serverJar() : config.apiJar(),
+                server ? config.serverArgs() : config.apiArgs(),
+                server ? config.serverUri() : config.apiUri(),
+                config.reportDir());
+        application.awaitHealthy(client, STARTUP_TIMEOUT);
+        return application;
+    }
+
+    private static Map<Operation, OperationStats> run(LoadTestConfig config, Workload workload)
+            throws InterruptedException {
+        final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        config.mix().keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+        final Operation[] weighted = config.mix().entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+
+        final long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        final long end = measureFrom + config.duration().toNanos();
+        final ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end) {
+                    final Operation operation =
+                            weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+                    final long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = workload.execute(operation);
+                    } catch (IOException ex) {
+                        status = 0;
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (status != Workload.SKIPPED && start >= measureFrom) {
+                        stats.get(operation).record(System.nanoTime() - start, status);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        final long timeoutMillis =
+                config.warmup().plus(config.duration()).plusMinutes(1).toMillis();
+        if (!workers.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Workers did not stop within " + timeoutMillis + " ms");
+        }
+        return stats;
+    }
+}
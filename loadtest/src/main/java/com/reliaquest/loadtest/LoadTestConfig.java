@@ -0,0 +1,70 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ */
+public record LoadTestConfig(
+        String label,
+        boolean bootApplications,
+        Path serverJar,
+        Path apiJar,
+        List<String> serverArgs,
+        List<String> apiArgs,
+        URI serverUri,
+        URI apiUri,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Path reportDir,
+        Path baseline) {
+
+    private static final String DEFAULT_MIX = "list:15,search:15,get:40,topTen:15,create:10,delete:5";
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                property("label", "run-" + System.currentTimeMillis()),
+                Boolean.parseBoolean(property("boot", "true")),
+                path(property("serverJar", null)),
+                path(property("apiJar", null)),
+                words(property("serverArgs", "")),
+                words(property("apiArgs", "")),
+                URI.create(property("serverUri", "http://localhost:8112")),
+                URI.create(property("apiUri", "http://localhost:8111")),
+                Integer.parseInt(property("concurrency", "16")),
+                Duration.parse(property("warmup", "PT10S")),
+                Duration.parse(property("duration", "PT30S")),
+                mix(property("mix", DEFAULT_MIX)),
+                path(property("reportDir", "build/reports/loadtest")),
+                path(property("baseline", null)));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Path path(String value) {
+        return value == null || value.isBlank() ? null : Path.of(value);
+    }
+
+    private static List<String> words(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            final String[] parts = entry.split(":");
+            mix.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
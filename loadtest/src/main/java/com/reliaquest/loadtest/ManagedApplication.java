@@ -0,0 +1,79 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A boot jar started in its own JVM for the duration of a load test.
+ */
+public class ManagedApplication implements AutoCloseable {
+
+    private final String name;
+    private final Process process;
+    private final URI healthUri;
+
+    private ManagedApplication(String name, Process process, URI baseUri) {
+        this.name = name;
+        this.process = process;
+        this.healthUri = baseUri.resolve("/actuator/health");
+    }
+
+    public static ManagedApplication start(String name, Path jar, List<String> args, URI baseUri, Path logDir)
+            throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + baseUri.getPort());
+        command.addAll(args);
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDir.resolve(name + ".log").toFile())
+                .start();
+        return new ManagedApplication(name, process, baseUri);
+    }
+
+    public void awaitHealthy(HttpClient client, Duration timeout) throws InterruptedException {
+        final Instant deadline = Instant.now().plus(timeout);
+        final HttpRequest request = HttpRequest.newBuilder(healthUri).GET().build();
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not become healthy within " + timeout);
+    }
+
+    /**
+     * Stops the application, forcibly once it has had 15 seconds to shut down or when interrupted while waiting.
+     */
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and outcome counters for one operation.
+ */
+public class OperationStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public void record(long latencyNanos, int status) {
+        latency.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        if (status >= 200 && status < 300) {
+            succeeded.increment();
+        } else if (status == 429) {
+            rateLimited.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    public Histogram latency() {
+        return latency;
+    }
+
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    public long rateLimited() {
+        return rateLimited.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues one api request per {@link Operation}. Ids and name fragments are seeded from an initial list call and
+ * topped up from created employees; deletes only ever remove employees this workload created.
+ */
+public class Workload {
+
+    /** Returned when an operation had nothing to act on and was not sent. */
+    public static final int SKIPPED = -1;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final URI employees;
+    private final List<String> knownIds = new CopyOnWriteArrayList<>();
+    private final List<String> nameFragments = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedDeque<String> createdIds = new ConcurrentLinkedDeque<>();
+    private final AtomicLong created = new AtomicLong();
+
+    public Workload(HttpClient client, ObjectMapper objectMapper, URI apiUri) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.employees = apiUri.resolve("/api/v1/employeeDetails");
+    }
+
+    public void seed() throws IOException, InterruptedException {
+        final var response = send(HttpRequest.newBuilder(employees).GET());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not seed workload, api returned " + response.statusCode());
+        }
+        for (JsonNode employee : objectMapper.readTree(response.body())) {
+            knownIds.add(employee.path("id").asText());
+            final String name = employee.path("employee_name").asText();
+            if (name.length() >= 3) {
+                nameFragments.add(name.substring(0, 3).toLowerCase());
+            }
+        }
+        if (nameFragments.isEmpty()) {
+            nameFragments.add("a");
+        }
+    }
+
+    public int execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LIST -> send(HttpRequest.newBuilder(employees).GET()).statusCode();
+            case SEARCH -> send(HttpRequest.newBuilder(resolve(
+                                    "/search/" + URLEncoder.encode(random(nameFragments), StandardCharsets.UTF_8)))
+                            .GET())
+                    .statusCode();
+            case GET -> knownIds.isEmpty()
+                    ? SKIPPED
+                    : send(HttpRequest.newBuilder(resolve("/" + random(knownIds)))
+                                    .GET())
+                            .statusCode();
+            case TOP_TEN -> send(HttpRequest.newBuilder(resolve("/topTenHighestEarningEmployeeNames"))
+                            .GET())
+                    .statusCode();
+            case CREATE -> create();
+            case DELETE -> delete();
+        };
+    }
+
+    private int create() throws IOException, InterruptedException {
+        final long sequence = created.incrementAndGet();
+        final String body = objectMapper.writeValueAsString(Map.of(
+                "name",
+                "Load Test " + sequence,
+                "salary",
+                ThreadLocalRandom.current().nextInt(30_000, 500_000),
+                "age",
+                ThreadLocalRandom.current().nextInt(16, 75),
+                "title",
+                "Load Tester",
+                "email",
+                "loadtest" + sequence + "@company.com"));
+        final var response = send(HttpRequest.newBuilder(employees)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response.statusCode() == 201) {
+            createdIds.add(objectMapper.readTree(response.body()).path("id").asText());
+        }
+        return response.statusCode();
+    }
+
+    private int delete() throws IOException, InterruptedException {
+        final String id = createdIds.poll();
+        if (id == null) {
+            return SKIPPED;
+        }
+        final int status =
+                send(HttpRequest.newBuilder(resolve("/" + id)).DELETE()).statusCode();
+        if (status == 429) {
+            createdIds.add(id);
+        }
+        return status;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI resolve(String path) {
+        return URI.create(employees + path);
+    }
+
+    private static String random(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "mock.replication")
+public class Replication {
+    /**
+     * A standalone server serves reads and writes on its own; a leader also publishes its mutations, and a follower
+     * serves reads from a copy of the leader's employees and rejects writes.
+     */
+    private Role role = Role.STANDALONE;
+
+    /** Base uri of the leader, for followers. */
+    private String leaderUri = "http://localhost:8112";
+
+    /** Mutations a leader keeps for followers to catch up from; a follower further behind reloads the snapshot. */
+    private int logSize = 10_000;
+
+    /** How long a follower's poll waits at the leader for new mutations before asking again. */
+    private Duration pollTimeout = Duration.ofSeconds(10);
+
+    /** Pause before a follower tries the leader again after failing to reach it. */
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    public enum Role {
+        STANDALONE,
+        LEADER,
+        FOLLOWER
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.service.ReplicationFollower;
+import com.reliaquest.server.store.ListMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.ReplicationLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class ReplicationConfiguration {
+
+    /*
+     * Every server applies mutations through the log; only a leader keeps them for followers.
+     */
+    @Bean
+    public ReplicationLog replicationLog(MockEmployeeStore mockEmployeeStore, Replication replication) {
+        if (replication.getRole() == Replication.Role.LEADER) {
+            requireEager(mockEmployeeStore, replication);
+            return new ReplicationLog(mockEmployeeStore, replication.getLogSize());
+        }
+        return new ReplicationLog(mockEmployeeStore, 0);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.replication.role", havingValue = "follower")
+    public ReplicationFollower replicationFollower(
+            MockEmployeeStore mockEmployeeStore, Replication replication, RestClient.Builder restClientBuilder) {
+        return new ReplicationFollower(
+                requireEager(mockEmployeeStore, replication),
+                replication,
+                restClientBuilder.baseUrl(replication.getLeaderUri()).build());
+    }
+
+    /*
+     * A snapshot of a virtual dataset would materialise every derived employee.
+     */
+    private static ListMockEmployeeStore requireEager(MockEmployeeStore mockEmployeeStore, Replication replication) {
+        if (mockEmployeeStore instanceof ListMockEmployeeStore listMockEmployeeStore) {
+            return listMockEmployeeStore;
+        }
+        throw new IllegalStateException("mock.replication.role=%s requires mock.employees.mode=eager"
+                .formatted(replication.getRole().name().toLowerCase()));
+    }
+}
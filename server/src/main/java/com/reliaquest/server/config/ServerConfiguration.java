@@ -1,11 +1,19 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.store.EmployeeShard;
+import com.reliaquest.server.store.ListMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.VirtualMockEmployeeStore;
+import com.reliaquest.server.web.RateLimiter;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
@@ -14,14 +22,13 @@ import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
@@ -31,13 +38,35 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * With mock.shard.count above 1, several servers each own the ids that hash onto their shard id.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public EmployeeShard employeeShard(
+            @Value("${mock.shard.id:0}") int shardId, @Value("${mock.shard.count:1}") int shardCount) {
+        final var employeeShard = new EmployeeShard(shardId, shardCount);
+        if (employeeShard.isSharded()) {
+            log.info("Serving shard {} of {}", shardId, shardCount);
+        }
+        return employeeShard;
+    }
+
+    /*
+     * The employees the server starts with; the store copies them and publishes a new copy on every write.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.mode", havingValue = "eager", matchIfMissing = true)
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            EmployeeShard employeeShard,
+            Replication replication,
+            @Value("${mock.employees.max:20}") int maxEmployees) {
+        if (replication.getRole() == Replication.Role.FOLLOWER) {
+            // filled from the leader's snapshot
+            return new ArrayList<>();
+        }
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", employeeShard::newId),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -46,14 +75,56 @@ public class ServerConfiguration implements WebMvcConfigurer {
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
                                 faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
+        final var mockEmployees = IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
+                .peek(mockEmployee -> log.trace("Created employee: {}", mockEmployee))
                 .collect(Collectors.toCollection(ArrayList::new));
+        log.info("Created {} mock employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.mode", havingValue = "eager", matchIfMissing = true)
+    public MockEmployeeStore listMockEmployeeStore(List<MockEmployee> mockEmployees) {
+        return new ListMockEmployeeStore(mockEmployees);
+    }
+
+    /*
+     * Employees are derived on demand from the seed and their index; nothing is generated up front.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.mode", havingValue = "virtual")
+    public MockEmployeeStore virtualMockEmployeeStore(
+            EmployeeShard employeeShard,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed) {
+        if (employeeShard.isSharded()) {
+            // derived ids are a function of the index and cannot be confined to a hash range
+            throw new IllegalStateException("mock.shard.count above 1 requires mock.employees.mode=eager");
+        }
+        final var store = new VirtualMockEmployeeStore(
+                seed != null ? seed : RandomGenerator.getDefault().nextLong(), maxEmployees);
+        log.info("Using virtual dataset of {} employees with seed {}", maxEmployees, store.getSeed());
+        return store;
+    }
+
+    @Bean
+    public MeterBinder mockEmployeeStoreMetrics(MockEmployeeStore mockEmployeeStore) {
+        return registry -> Gauge.builder("mock.employees.stored", mockEmployeeStore, MockEmployeeStore::size)
+                .description("Employees currently held by the mock server")
+                .register(registry);
     }
 
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    @Bean
+    public RateLimiter rateLimiter(
+            @Value("${mock.rate-limit.limit:10}") int limit, @Value("${mock.rate-limit.period:30s}") Duration period) {
+        return new RateLimiter(limit, period);
+    }
+
+    @Bean
+    public RequestLimitInterceptor requestLimitInterceptor(
+            RateLimiter rateLimiter,
+            @Value("${mock.rate-limit.key:client}") RequestLimitInterceptor.KeyStrategy keyStrategy) {
+        return new RequestLimitInterceptor(rateLimiter, keyStrategy);
     }
 }
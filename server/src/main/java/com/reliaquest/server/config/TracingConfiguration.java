@@ -0,0 +1,34 @@
+package com.reliaquest.server.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfiguration {
+
+    private static final Logger TRACES = LoggerFactory.getLogger("traces");
+
+    /*
+     * Finished spans are written as Zipkin v2 JSON lines to the "traces" logger, which logback-spring.xml sends to a
+     * file next to the api's so both sides of a request can be joined on trace id.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.enabled", havingValue = "true")
+    public SpanHandler traceFileSpanHandler() {
+        return new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                if (TRACES.isInfoEnabled()) {
+                    TRACES.info("{}", span);
+                }
+                return true;
+            }
+        };
+    }
+}
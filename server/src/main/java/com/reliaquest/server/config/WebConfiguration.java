@@ -0,0 +1,36 @@
+package com.reliaquest.server.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final RequestLimitInterceptor requestLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestLimitInterceptor).excludePathPatterns("/actuator/**", "/api/v1/replication/**");
+    }
+
+    /*
+     * Served only to callers that ask for application/cbor; JSON stays the default. String references write each
+     * repeated key such as employee_name once per response, and UUIDs are written as 16 raw bytes.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(CBORFactory.builder()
+                        .enable(CBORGenerator.Feature.STRINGREF)
+                        .build())
+                .build());
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -27,8 +28,13 @@ public class MockEmployeeController {
     private final MockEmployeeService mockEmployeeService;
 
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public Response<List<MockEmployee>> getEmployees(
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        if (page == null) {
+            return Response.handledWith(mockEmployeeService.getMockEmployees());
+        }
+        return Response.handledWith(mockEmployeeService.getMockEmployees(Math.max(page, 0), Math.max(size, 1)));
     }
 
     @GetMapping("/{id}")
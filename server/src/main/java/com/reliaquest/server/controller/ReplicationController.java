@@ -0,0 +1,50 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.ReplicationEntry;
+import com.reliaquest.server.model.ReplicationSnapshot;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.store.ReplicationLog;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Served by a leader to its followers: the current employees, then the mutations after a sequence number. A poll for
+ * mutations waits up to {@code timeout} milliseconds for one, and answers 410 Gone once the log no longer reaches back
+ * to the follower's position or the leader has restarted since the follower's snapshot.
+ */
+@RestController
+@RequestMapping("/api/v1/replication")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mock.replication.role", havingValue = "leader")
+public class ReplicationController {
+
+    private static final long MAX_TIMEOUT_MILLIS = 30_000;
+
+    private final ReplicationLog replicationLog;
+
+    @GetMapping("/snapshot")
+    public Response<ReplicationSnapshot> getSnapshot() {
+        return Response.handledWith(replicationLog.snapshot());
+    }
+
+    @GetMapping("/log")
+    public ResponseEntity<Response<List<ReplicationEntry>>> getEntries(
+            @RequestParam("incarnation") UUID incarnation,
+            @RequestParam("after") long after,
+            @RequestParam(name = "timeout", defaultValue = "0") long timeout)
+            throws InterruptedException {
+        return replicationLog
+                .entriesAfter(incarnation, after, Duration.ofMillis(Math.min(Math.max(timeout, 0), MAX_TIMEOUT_MILLIS)))
+                .map(entries -> ResponseEntity.ok(Response.handledWith(entries)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).body(Response.error("Log truncated")));
+    }
+}
@@ -1,6 +1,7 @@
 package com.reliaquest.server.model;
 
 import jakarta.validation.constraints.NotBlank;
+import java.util.UUID;
 import lombok.Data;
 
 @Data
@@ -8,4 +9,10 @@ public class DeleteMockEmployeeInput {
 
     @NotBlank
     private String name;
+
+    /**
+     * Optional id of the employee named {@code name}. When given, only that employee is deleted, and only if it still
+     * has that name; otherwise the first employee with the name is.
+     */
+    private UUID id;
 }
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * A mutation applied by the leader, numbered in the order it was applied.
+ */
+public record ReplicationEntry(long sequence, Operation operation, MockEmployee employee) {
+
+    public enum Operation {
+        CREATE,
+        DELETE
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The leader's employees as of mutation {@code sequence} of log {@code incarnation}; a follower tails that log from
+ * there.
+ */
+public record ReplicationSnapshot(UUID incarnation, long sequence, List<MockEmployee> employees) {}
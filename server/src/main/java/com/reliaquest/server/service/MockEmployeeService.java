@@ -1,58 +1,82 @@
 package com.reliaquest.server.service;
 
+import com.reliaquest.server.config.Replication;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeShard;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.ReplicationLog;
+import io.micrometer.observation.annotation.Observed;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @Service
+@Observed(name = "mock.employee.service")
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final EmployeeShard employeeShard;
+
+    private final ReplicationLog replicationLog;
+
+    private final Replication replication;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.list();
+    }
+
+    public List<MockEmployee> getMockEmployees(int page, int size) {
+        return mockEmployeeStore.page((int) Math.min((long) page * size, Integer.MAX_VALUE), size);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+        rejectOnFollower();
         final var mockEmployee = MockEmployee.from(
+                employeeShard.newId(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
+        replicationLog.add(mockEmployee);
+        log.debug("Added employee: {}", mockEmployee.getId());
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        rejectOnFollower();
+        final var mockEmployee = input.getId() != null
+                ? replicationLog.removeById(input.getId(), input.getName())
+                : replicationLog.removeByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
+            log.debug("Removed employee: {}", mockEmployee.get().getId());
             return true;
         }
 
         return false;
     }
+
+    private void rejectOnFollower() {
+        if (replication.getRole() == Replication.Role.FOLLOWER) {
+            throw new ResponseStatusException(
+                    HttpStatus.METHOD_NOT_ALLOWED, "Followers are read-only; send writes to the leader");
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.Replication;
+import com.reliaquest.server.model.ReplicationEntry;
+import com.reliaquest.server.model.ReplicationSnapshot;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.store.ListMockEmployeeStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Keeps a follower's employees in step with the leader. The leader's snapshot is loaded before the follower starts
+ * serving, so startup fails while the leader is unreachable; afterwards a daemon thread long-polls the leader's
+ * replication log and applies each mutation in order, reloading the snapshot when it has fallen too far behind or the
+ * leader has restarted. Each mutation and each reload replaces the store's list in one step, so reads served meanwhile
+ * see the employees either before or after it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicationFollower implements MeterBinder {
+
+    private static final ParameterizedTypeReference<Response<ReplicationSnapshot>> SNAPSHOT_TYPE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<List<ReplicationEntry>>> ENTRIES_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final ListMockEmployeeStore mockEmployeeStore;
+    private final Replication replication;
+    private final RestClient restClient;
+
+    private volatile UUID incarnation;
+    private volatile long sequence;
+    private volatile boolean running = true;
+    private Thread tailer;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mock.replication.sequence", this, follower -> follower.sequence)
+                .description("Leader mutations applied to the employee store")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        loadSnapshot();
+        tailer = new Thread(this::tail, "replication-follower");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        tailer.interrupt();
+    }
+
+    private void tail() {
+        while (running) {
+            try {
+                final var entries = restClient
+                        .get()
+                        .uri(
+                                "/api/v1/replication/log?incarnation={incarnation}&after={after}&timeout={timeout}",
+                                incarnation,
+                                sequence,
+                                replication.getPollTimeout().toMillis())
+                        .retrieve()
+                        .body(ENTRIES_TYPE);
+                if (entries != null && entries.data() != null) {
+                    entries.data().forEach(this::apply);
+                }
+            } catch (HttpClientErrorException.Gone ex) {
+                log.info(
+                        "Replication log no longer holds mutation {} of {}, reloading snapshot",
+                        sequence + 1,
+                        incarnation);
+                loadSnapshotQuietly();
+            } catch (RestClientException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Polling leader at {} failed: {}", replication.getLeaderUri(), ex.getMessage());
+                pause();
+            }
+        }
+    }
+
+    private void apply(ReplicationEntry entry) {
+        if (entry.sequence() != sequence + 1) {
+            return;
+        }
+        switch (entry.operation()) {
+            case CREATE -> mockEmployeeStore.add(entry.employee());
+            case DELETE -> mockEmployeeStore.removeById(entry.employee().getId());
+        }
+        sequence = entry.sequence();
+    }
+
+    private void loadSnapshot() {
+        final var snapshot =
+                restClient.get().uri("/api/v1/replication/snapshot").retrieve().body(SNAPSHOT_TYPE);
+        if (snapshot == null || snapshot.data() == null) {
+            throw new IllegalStateException("Leader at " + replication.getLeaderUri() + " returned no snapshot");
+        }
+        mockEmployeeStore.replaceAll(snapshot.data().employees());
+        incarnation = snapshot.data().incarnation();
+        sequence = snapshot.data().sequence();
+        log.info(
+                "Loaded {} employees from leader at {} as of mutation {} of {}",
+                snapshot.data().employees().size(),
+                replication.getLeaderUri(),
+                sequence,
+                incarnation);
+    }
+
+    private void loadSnapshotQuietly() {
+        try {
+            loadSnapshot();
+        } catch (RuntimeException ex) {
+            log.warn("Reloading snapshot from leader at {} failed: {}", replication.getLeaderUri(), ex.getMessage());
+            pause();
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(replication.getRetryDelay().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
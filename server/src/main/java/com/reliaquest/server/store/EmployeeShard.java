@@ -0,0 +1,44 @@
+package com.reliaquest.server.store;
+
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * The slice of the employee id space this server owns. With a single shard every id is owned; otherwise new ids are
+ * drawn at random until one hashes onto this shard, which takes {@code count} draws on average.
+ */
+public class EmployeeShard {
+
+    @Getter
+    private final int id;
+
+    @Getter
+    private final int count;
+
+    private final ShardRing ring;
+
+    public EmployeeShard(int id, int count) {
+        if (id < 0 || id >= count) {
+            throw new IllegalArgumentException("Shard id must be between 0 and %d, was %d".formatted(count - 1, id));
+        }
+        this.id = id;
+        this.count = count;
+        this.ring = new ShardRing(count);
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public boolean owns(UUID uuid) {
+        return !isSharded() || ring.owner(uuid) == id;
+    }
+
+    public UUID newId() {
+        var uuid = UUID.randomUUID();
+        while (!owns(uuid)) {
+            uuid = UUID.randomUUID();
+        }
+        return uuid;
+    }
+}
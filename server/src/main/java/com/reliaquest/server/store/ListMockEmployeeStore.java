@@ -0,0 +1,86 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import io.micrometer.observation.annotation.Observed;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Eagerly generated employees. Readers get an unmodifiable list that is never changed afterwards; each write copies
+ * it and publishes the copy, so a response being serialised from {@link #list()} never sees a write land under it,
+ * and a follower taking over the leader's employees swaps them in one step.
+ */
+public class ListMockEmployeeStore implements MockEmployeeStore {
+
+    private volatile List<MockEmployee> mockEmployees;
+
+    public ListMockEmployeeStore(@NonNull Collection<MockEmployee> mockEmployees) {
+        this.mockEmployees = List.copyOf(mockEmployees);
+    }
+
+    @Override
+    public int size() {
+        return mockEmployees.size();
+    }
+
+    @Override
+    public List<MockEmployee> list() {
+        return mockEmployees;
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return mockEmployees.stream()
+                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
+                        && mockEmployee.getId().equals(uuid))
+                .findFirst();
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public synchronized void add(@NonNull MockEmployee mockEmployee) {
+        final var next = new ArrayList<MockEmployee>(mockEmployees.size() + 1);
+        next.addAll(mockEmployees);
+        next.add(mockEmployee);
+        mockEmployees = Collections.unmodifiableList(next);
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var mockEmployee = mockEmployees.stream()
+                .filter(employee -> Objects.nonNull(employee.getName())
+                        && employee.getName().equalsIgnoreCase(name))
+                .findFirst();
+        mockEmployee.ifPresent(this::remove);
+        return mockEmployee;
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID uuid) {
+        final var mockEmployee = findById(uuid);
+        mockEmployee.ifPresent(this::remove);
+        return mockEmployee;
+    }
+
+    /*
+     * Used by followers to take over the leader's employees.
+     */
+    public synchronized void replaceAll(@NonNull Collection<MockEmployee> replacements) {
+        mockEmployees = List.copyOf(replacements);
+    }
+
+    private void remove(MockEmployee mockEmployee) {
+        final var next = new ArrayList<>(mockEmployees);
+        next.remove(mockEmployee);
+        mockEmployees = Collections.unmodifiableList(next);
+    }
+}
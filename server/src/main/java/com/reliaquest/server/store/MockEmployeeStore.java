@@ -0,0 +1,36 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import io.micrometer.observation.annotation.Observed;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Backing storage for mock employees. Implementations decide whether employees are held in memory or derived on
+ * demand; {@link #list()} is safe to iterate while writes happen and may be far larger than what fits in a single
+ * response.
+ */
+public interface MockEmployeeStore {
+
+    int size();
+
+    List<MockEmployee> list();
+
+    @Observed(name = "mock.employee.store")
+    default List<MockEmployee> page(int offset, int limit) {
+        final var employees = list();
+        final int from = Math.min(Math.max(offset, 0), employees.size());
+        final int to = Math.min(from + Math.max(limit, 0), employees.size());
+        return List.copyOf(employees.subList(from, to));
+    }
+
+    Optional<MockEmployee> findById(@NonNull UUID uuid);
+
+    void add(@NonNull MockEmployee mockEmployee);
+
+    Optional<MockEmployee> removeByName(@NonNull String name);
+
+    Optional<MockEmployee> removeById(@NonNull UUID uuid);
+}
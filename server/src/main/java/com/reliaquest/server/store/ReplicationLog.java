@@ -0,0 +1,114 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ReplicationEntry;
+import com.reliaquest.server.model.ReplicationSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Applies mutations to the store one at a time and, on a leader, keeps the last {@code capacity} of them numbered in
+ * order so followers can tail them. A snapshot is taken between mutations, so a follower that loads it and then
+ * applies every later entry ends up with the leader's employees in the leader's order. With a capacity of zero
+ * nothing is kept and mutations are only serialised.
+ * <p>
+ * Sequence numbers restart whenever the leader does, so each log carries a random incarnation id: a follower asks for
+ * entries of the incarnation its snapshot came from, and is told to reload when the leader has restarted since.
+ */
+public class ReplicationLog implements MeterBinder {
+
+    private final MockEmployeeStore mockEmployeeStore;
+    private final int capacity;
+    private final ArrayDeque<ReplicationEntry> entries = new ArrayDeque<>();
+    private final UUID incarnation = UUID.randomUUID();
+
+    private long sequence;
+
+    public ReplicationLog(MockEmployeeStore mockEmployeeStore, int capacity) {
+        this.mockEmployeeStore = mockEmployeeStore;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mock.replication.sequence", this, ReplicationLog::getSequence)
+                .description("Mutations applied to the employee store")
+                .register(registry);
+    }
+
+    public UUID getIncarnation() {
+        return incarnation;
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public synchronized void add(@NonNull MockEmployee mockEmployee) {
+        mockEmployeeStore.add(mockEmployee);
+        append(ReplicationEntry.Operation.CREATE, mockEmployee);
+    }
+
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var mockEmployee = mockEmployeeStore.removeByName(name);
+        mockEmployee.ifPresent(removed -> append(ReplicationEntry.Operation.DELETE, removed));
+        return mockEmployee;
+    }
+
+    /**
+     * Removes the employee with {@code uuid} if it is still named {@code name}, ignoring case.
+     */
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID uuid, @NonNull String name) {
+        final var mockEmployee = mockEmployeeStore
+                .findById(uuid)
+                .filter(found -> found.getName() != null && found.getName().equalsIgnoreCase(name))
+                .flatMap(found -> mockEmployeeStore.removeById(uuid));
+        mockEmployee.ifPresent(removed -> append(ReplicationEntry.Operation.DELETE, removed));
+        return mockEmployee;
+    }
+
+    public synchronized ReplicationSnapshot snapshot() {
+        return new ReplicationSnapshot(incarnation, sequence, List.copyOf(mockEmployeeStore.list()));
+    }
+
+    /**
+     * Entries of {@code incarnation} after {@code after}, waiting up to {@code timeout} for one to be appended when
+     * there are none yet. Empty when this log is a different incarnation or entries after {@code after} have already
+     * been dropped, and the caller has to reload the snapshot.
+     */
+    public synchronized Optional<List<ReplicationEntry>> entriesAfter(
+            @NonNull UUID incarnation, long after, Duration timeout) throws InterruptedException {
+        if (!this.incarnation.equals(incarnation)) {
+            return Optional.empty();
+        }
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        long remaining = timeout.toNanos();
+        while (sequence <= after && remaining > 0) {
+            wait(Math.max(1, remaining / 1_000_000));
+            remaining = deadline - System.nanoTime();
+        }
+        if (after < sequence - entries.size() || after > sequence) {
+            return Optional.empty();
+        }
+        return Optional.of(
+                entries.stream().skip(after - (sequence - entries.size())).toList());
+    }
+
+    private void append(ReplicationEntry.Operation operation, MockEmployee mockEmployee) {
+        sequence++;
+        if (capacity > 0) {
+            entries.addLast(new ReplicationEntry(sequence, operation, mockEmployee));
+            if (entries.size() > capacity) {
+                entries.removeFirst();
+            }
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.server.store;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Consistent-hash ring over {@code shardCount} shards. Each shard is placed at {@link #VIRTUAL_NODES} points and an id
+ * belongs to the shard of the first point at or after its hash, wrapping around, so ids spread evenly and adding a
+ * shard only moves the ids that land on its points.
+ *
+ * <p>The api routes requests with an identical ring; both copies must place points and hash ids the same way, and
+ * ApiCopiesTest checks that their code agrees.
+ */
+final class ShardRing {
+
+    static final int VIRTUAL_NODES = 128;
+
+    private final long[] points;
+    private final int[] owners;
+
+    ShardRing(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1, was " + shardCount);
+        }
+        TreeMap<Long, Integer> ring = new TreeMap<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                ring.put(mix(((long) shard << 32) | node), shard);
+            }
+        }
+        this.points = ring.keySet().stream().mapToLong(Long::longValue).toArray();
+        this.owners = ring.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    int owner(UUID id) {
+        int index = Arrays.binarySearch(points, mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits())));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /*
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
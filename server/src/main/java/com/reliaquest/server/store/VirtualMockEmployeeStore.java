@@ -0,0 +1,288 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import io.micrometer.observation.annotation.Observed;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.Getter;
+import lombok.NonNull;
+import net.datafaker.Faker;
+
+/**
+ * A logical dataset of {@code baseSize} employees where employee {@code N} is derived on demand from the seed and its
+ * index, so startup time and memory stay flat regardless of size. Creates and deletes are kept in a small overlay on
+ * top of the derived base.
+ *
+ * <p>Derived ids share a seed-specific most significant half; the least significant half is a reversible scramble of
+ * the index, which makes {@link #findById(UUID)} and {@link #removeById(UUID)} constant-time inversions rather than
+ * scans. Deletes by name alone use a sorted array of name hashes and indexes, built on the first one that needs it.
+ */
+public class VirtualMockEmployeeStore implements MockEmployeeStore {
+
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long ID_MULTIPLIER = 0x9E37_79B9_7F4A_7C15L;
+    private static final long ID_MULTIPLIER_INVERSE = inverse(ID_MULTIPLIER);
+    private static final int NAME_HINTS_MAX = 10_000;
+
+    @Getter
+    private final long seed;
+
+    private final int baseSize;
+    private final long idHigh;
+    private final long idKey;
+    private final ThreadLocal<SeededFaker> fakers;
+
+    /*
+     * Deleted base indexes in ascending order, replaced as a whole on every delete so readers never lock. Deletes are
+     * rare next to reads, and a sorted array lets a list position be mapped with one binary search.
+     */
+    private volatile int[] deleted = new int[0];
+    private final List<MockEmployee> added = new CopyOnWriteArrayList<>();
+
+    /*
+     * Deletes by name cannot be inverted to an index. Names of recently looked up employees are kept so the usual
+     * find-then-delete flow does not need the name index at all.
+     */
+    private final Map<String, Integer> nameHints = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > NAME_HINTS_MAX;
+        }
+    });
+
+    /*
+     * Lower-cased name hash in the high half and base index in the low half of each element, sorted, so the indexes
+     * of a name are one binary search away. 8 bytes per employee instead of a map entry per name.
+     */
+    private volatile long[] nameIndex;
+
+    private final List<MockEmployee> view = new AbstractList<>() {
+        @Override
+        public MockEmployee get(int index) {
+            final int[] removed = deleted;
+            final int live = baseSize - removed.length;
+            return index < live ? derive(toBaseIndex(removed, index)) : added.get(index - live);
+        }
+
+        @Override
+        public int size() {
+            return VirtualMockEmployeeStore.this.size();
+        }
+    };
+
+    public VirtualMockEmployeeStore(long seed, int baseSize) {
+        this.seed = seed;
+        this.baseSize = baseSize;
+        this.idHigh = (mix(seed) & ~0xF000L) | 0x4000L;
+        this.idKey = mix(~seed) & VARIANT_MASK;
+        this.fakers = ThreadLocal.withInitial(SeededFaker::new);
+    }
+
+    @Override
+    public int size() {
+        return baseSize - deleted.length + added.size();
+    }
+
+    @Override
+    public List<MockEmployee> list() {
+        return view;
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        final int index = toIndex(uuid);
+        if (index >= 0 && !isDeleted(index)) {
+            final var mockEmployee = derive(index);
+            nameHints.put(mockEmployee.getName().toLowerCase(), index);
+            return Optional.of(mockEmployee);
+        }
+        return added.stream().filter(employee -> uuid.equals(employee.getId())).findFirst();
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public void add(@NonNull MockEmployee mockEmployee) {
+        added.add(mockEmployee);
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var addedEmployee = added.stream()
+                .filter(employee -> Objects.nonNull(employee.getName())
+                        && employee.getName().equalsIgnoreCase(name))
+                .findFirst();
+        if (addedEmployee.isPresent()) {
+            added.remove(addedEmployee.get());
+            return addedEmployee;
+        }
+
+        final var hint = nameHints.remove(name.toLowerCase());
+        if (hint != null && tryDelete(hint, name)) {
+            return Optional.of(derive(hint));
+        }
+        final long[] indexes = nameIndex();
+        final long hash = (long) name.toLowerCase(Locale.ROOT).hashCode() << 32;
+        int position = Arrays.binarySearch(indexes, hash);
+        for (position = position < 0 ? -position - 1 : position;
+                position < indexes.length && (indexes[position] & 0xFFFF_FFFF_0000_0000L) == hash;
+                position++) {
+            final int index = (int) indexes[position];
+            if (tryDelete(index, name)) {
+                return Optional.of(derive(index));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    @Observed(name = "mock.employee.store")
+    public Optional<MockEmployee> removeById(@NonNull UUID uuid) {
+        final int index = toIndex(uuid);
+        if (index >= 0) {
+            return markDeleted(index) ? Optional.of(derive(index)) : Optional.empty();
+        }
+        final var addedEmployee =
+                added.stream().filter(employee -> uuid.equals(employee.getId())).findFirst();
+        addedEmployee.ifPresent(added::remove);
+        return addedEmployee;
+    }
+
+    private long[] nameIndex() {
+        long[] indexes = nameIndex;
+        if (indexes == null) {
+            synchronized (this) {
+                indexes = nameIndex;
+                if (indexes == null) {
+                    indexes = new long[baseSize];
+                    for (int index = 0; index < baseSize; index++) {
+                        final long hash =
+                                deriveName(index).toLowerCase(Locale.ROOT).hashCode();
+                        indexes[index] = hash << 32 | index;
+                    }
+                    Arrays.sort(indexes);
+                    nameIndex = indexes;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private boolean tryDelete(int index, String name) {
+        return !isDeleted(index) && derive(index).getName().equalsIgnoreCase(name) && markDeleted(index);
+    }
+
+    private boolean isDeleted(int index) {
+        return Arrays.binarySearch(deleted, index) >= 0;
+    }
+
+    private synchronized boolean markDeleted(int index) {
+        final int[] removed = deleted;
+        final int position = Arrays.binarySearch(removed, index);
+        if (position >= 0) {
+            return false;
+        }
+        final int insertAt = -position - 1;
+        final int[] updated = new int[removed.length + 1];
+        System.arraycopy(removed, 0, updated, 0, insertAt);
+        updated[insertAt] = index;
+        System.arraycopy(removed, insertAt, updated, insertAt + 1, removed.length - insertAt);
+        deleted = updated;
+        return true;
+    }
+
+    /*
+     * Maps a position in the logical list onto the base. removed[j] - j live indexes precede the j-th deleted index and
+     * never decreases with j, so the deletes at or before the answer are those with removed[j] - j <= position, found by
+     * binary search.
+     */
+    static int toBaseIndex(int[] removed, int position) {
+        int low = 0;
+        int high = removed.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (removed[middle] - middle <= position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return position + low;
+    }
+
+    private int toIndex(UUID uuid) {
+        if (uuid.getMostSignificantBits() != idHigh) {
+            return -1;
+        }
+        final long index = ((uuid.getLeastSignificantBits() * ID_MULTIPLIER_INVERSE) & VARIANT_MASK) ^ idKey;
+        return index < baseSize ? (int) index : -1;
+    }
+
+    private UUID toId(int index) {
+        return new UUID(idHigh, (((index ^ idKey) * ID_MULTIPLIER) & VARIANT_MASK) | 0x8000_0000_0000_0000L);
+    }
+
+    private MockEmployee derive(int index) {
+        final var faker = seededFaker(index);
+        return MockEmployee.builder()
+                .id(toId(index))
+                .name(faker.name().fullName())
+                .salary(faker.number().numberBetween(30000, 500000))
+                .age(faker.number().numberBetween(16, 70))
+                .title(faker.job().title())
+                .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()))
+                .build();
+    }
+
+    /*
+     * The name is the first value drawn for an index, so it can be derived without the rest.
+     */
+    private String deriveName(int index) {
+        return seededFaker(index).name().fullName();
+    }
+
+    private Faker seededFaker(int index) {
+        final var seeded = fakers.get();
+        seeded.random.setSeed(mix(seed ^ mix(index)));
+        return seeded.faker;
+    }
+
+    /*
+     * SplitMix64 finalizer; spreads consecutive seeds and indexes across the whole 64-bit range.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E37_79B9_7F4A_7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * Multiplicative inverse of an odd number modulo 2^64 by Newton's iteration; also an inverse modulo 2^62.
+     */
+    private static long inverse(long odd) {
+        long inverse = odd;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    private static final class SeededFaker {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(Locale.getDefault(), random);
+    }
+}
@@ -0,0 +1,298 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Response wrapper behind {@link CompressionFilter}. The body is held back until it reaches the minimum size or is
+ * complete; the decision is then final and later writes go straight to the container or through the compressor.
+ * {@code Content-Length} is withheld until the body is known to be sent as is.
+ * <p>
+ * The api carries a copy of this class and of {@link ContentCoding}; the copies are kept identical apart from
+ * package and formatting, so a fix here is made there too.
+ */
+class CompressingResponse extends HttpServletResponseWrapper {
+    private enum State {
+        PENDING,
+        IDENTITY,
+        COMPRESSING
+    }
+
+    private final ContentCoding coding;
+    private final int level;
+    private final List<String> mimeTypes;
+    private final LongSupplier minSize;
+
+    private State state = State.PENDING;
+    private long contentLength = -1;
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+
+    CompressingResponse(
+            HttpServletResponse response,
+            ContentCoding coding,
+            int level,
+            List<String> mimeTypes,
+            LongSupplier minSize) {
+        super(response);
+        this.coding = coding;
+        this.level = level;
+        this.mimeTypes = mimeTypes;
+        this.minSize = minSize;
+    }
+
+    boolean isCompressed() {
+        return state == State.COMPRESSING;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            outputStream = new CompressingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (state == State.PENDING) {
+            contentLength = length;
+        } else if (state == State.IDENTITY) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+        if (state != State.PENDING) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (state == State.PENDING && outputStream != null) {
+            outputStream.buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (state == State.PENDING) {
+            contentLength = -1;
+            if (outputStream != null) {
+                outputStream.buffer.reset();
+            }
+        }
+    }
+
+    /**
+     * Sends whatever is still held back and completes the compressed stream.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.finish();
+        } else if (state == State.PENDING) {
+            state = State.IDENTITY;
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+    }
+
+    private boolean isCompressible() {
+        int status = getStatus();
+        if (status < 200
+                || status == HttpServletResponse.SC_NO_CONTENT
+                || status == HttpServletResponse.SC_NOT_MODIFIED
+                || getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || getContentType() == null) {
+            return false;
+        }
+        String mimeType = getContentType().split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        if (!mimeTypes.contains(mimeType)) {
+            return false;
+        }
+        if (getHeaders(HttpHeaders.VARY).stream()
+                .noneMatch(vary -> vary.toLowerCase(Locale.ROOT).contains("accept-encoding"))) {
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return true;
+    }
+
+    private class CompressingOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private long threshold = -1;
+        private OutputStream target;
+        private boolean finished;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (state == State.PENDING) {
+                if (threshold() == Long.MAX_VALUE) {
+                    decide(false);
+                } else {
+                    buffer.write(bytes, offset, length);
+                    if (buffer.size() >= threshold) {
+                        decide(true);
+                    }
+                    return;
+                }
+            }
+            target.write(bytes, offset, length);
+        }
+
+        /*
+         * A body that will not be compressed is released on flush, so streamed responses such as server-sent events
+         * reach the client as they are written; a compressible one stays held back until the decision is made.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (state == State.PENDING && threshold() == Long.MAX_VALUE) {
+                decide(false);
+            }
+            if (state != State.PENDING) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Compressed responses are written synchronously");
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (state == State.PENDING) {
+                contentLength = buffer.size();
+                decide(false);
+            }
+            if (state == State.COMPRESSING) {
+                target.close();
+            }
+        }
+
+        private long threshold() {
+            if (threshold < 0) {
+                threshold = isCompressible() ? minSize.getAsLong() : Long.MAX_VALUE;
+                if (contentLength >= 0 && contentLength < threshold) {
+                    threshold = Long.MAX_VALUE;
+                }
+            }
+            return threshold;
+        }
+
+        private void decide(boolean compress) throws IOException {
+            ServletOutputStream container = getResponse().getOutputStream();
+            if (compress) {
+                state = State.COMPRESSING;
+                CompressingResponse.super.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+                target = coding.encode(container, level);
+            } else {
+                state = State.IDENTITY;
+                if (contentLength >= 0) {
+                    CompressingResponse.super.setContentLengthLong(contentLength);
+                }
+                target = container;
+            }
+            buffer.writeTo(target);
+            buffer.reset();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+
+/**
+ * Lock-free Generic Cell Rate Algorithm limiter: each key allows a burst of {@code limit} requests and then one request
+ * every {@code period / limit}. Per key state is a single theoretical arrival time updated by compare-and-set, so keys
+ * never contend with each other and a key never admits more than its budget, however many threads race on it.
+ *
+ * <p>Once more than {@value #SWEEP_THRESHOLD} keys are tracked, idle keys are swept at most once per {@code period}:
+ * the request that wins a compare-and-set on the next sweep time pays for it and every other request skips it. A swept
+ * key's arrival time is first set to a tombstone by the same compare-and-set, so a request racing the sweep either
+ * charges the key before it is dropped, or sees the tombstone and charges the key that replaces it.
+ */
+public class RateLimiter {
+
+    static final int SWEEP_THRESHOLD = 10_000;
+
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final long SWEPT = Long.MAX_VALUE;
+
+    @Getter
+    private final int limit;
+
+    @Getter
+    private final Duration period;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final ConcurrentMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(int limit, Duration period) {
+        this(limit, period, System::nanoTime);
+    }
+
+    RateLimiter(int limit, Duration period, LongSupplier nanoClock) {
+        if (limit < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit must allow at least one request per positive period");
+        }
+        this.limit = limit;
+        this.period = period;
+        this.emissionIntervalNanos = period.toNanos() / limit;
+        this.burstToleranceNanos = emissionIntervalNanos * limit;
+        this.nanoClock = nanoClock;
+        this.nextSweepAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public Decision tryAcquire(String key) {
+        AtomicLong arrival = arrivals.computeIfAbsent(key, ignored -> new AtomicLong(NEVER));
+        while (true) {
+            final long now = nanoClock.getAsLong();
+            final long current = arrival.get();
+            if (current == SWEPT) {
+                arrivals.remove(key, arrival);
+                arrival = arrivals.computeIfAbsent(key, ignored -> new AtomicLong(NEVER));
+                continue;
+            }
+            final long next = Math.max(current, now) + emissionIntervalNanos;
+            final long allowAt = next - burstToleranceNanos;
+            if (now < allowAt) {
+                return new Decision(false, 0, allowAt - now, Math.max(current, now) - now);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                if (arrivals.size() > SWEEP_THRESHOLD) {
+                    maybeSweep(now);
+                }
+                final long remaining = (burstToleranceNanos - (next - now)) / emissionIntervalNanos;
+                return new Decision(true, remaining, 0, next - now);
+            }
+        }
+    }
+
+    public int trackedKeys() {
+        return arrivals.size();
+    }
+
+    /*
+     * A key whose theoretical arrival time has passed has a full budget again and is indistinguishable from an unseen
+     * key, so it can be dropped. No key's arrival time is more than one period ahead, so sweeping once per period
+     * drops every key that has been idle for a period.
+     */
+    private void maybeSweep(long now) {
+        final long sweepAt = nextSweepAt.get();
+        if (now - sweepAt >= 0 && nextSweepAt.compareAndSet(sweepAt, now + burstToleranceNanos)) {
+            arrivals.forEach((key, arrival) -> {
+                final long current = arrival.get();
+                if (current <= now && arrival.compareAndSet(current, SWEPT)) {
+                    arrivals.remove(key, arrival);
+                }
+            });
+        }
+    }
+
+    /**
+     * @param remaining requests still allowed right now
+     * @param retryAfterNanos wait before the next request is allowed, zero when allowed
+     * @param resetNanos wait until the full burst is available again
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterNanos, long resetNanos) {}
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Rejects requests over the configured rate with 429 Too Many Requests and a {@code Retry-After} header. Every limited
+ * response also carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} (seconds until
+ * the full burst is available again) so clients can pace themselves before being rejected. Requests are
+ * bucketed by client (the {@code X-Client-Id} header, falling back to the remote address), by route, by both, or all
+ * together, depending on {@link KeyStrategy}.
+ */
+@RequiredArgsConstructor
+public class RequestLimitInterceptor implements HandlerInterceptor, MeterBinder {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String RATE_LIMIT_LIMIT_HEADER = "RateLimit-Limit";
+    public static final String RATE_LIMIT_REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RATE_LIMIT_RESET_HEADER = "RateLimit-Reset";
+    public static final String RATE_LIMIT_POLICY_HEADER = "RateLimit-Policy";
+
+    private final RateLimiter rateLimiter;
+    private final KeyStrategy keyStrategy;
+
+    private Counter rejectedRequests;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mock.request.limit", rateLimiter, RateLimiter::getLimit)
+                .description("Requests allowed per key within the limit period")
+                .register(registry);
+        Gauge.builder("mock.request.limit.period", rateLimiter, limiter -> limiter.getPeriod()
+                        .toSeconds())
+                .description("Period over which the request limit applies")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("mock.request.limit.keys", rateLimiter, RateLimiter::trackedKeys)
+                .description("Rate limit keys currently tracked")
+                .register(registry);
+        rejectedRequests = Counter.builder("mock.request.limit.rejected")
+                .description("Requests rejected with 429 Too Many Requests")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var decision = rateLimiter.tryAcquire(keyStrategy.keyFor(request));
+        response.setHeader(RATE_LIMIT_LIMIT_HEADER, String.valueOf(rateLimiter.getLimit()));
+        response.setHeader(RATE_LIMIT_REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RATE_LIMIT_RESET_HEADER, String.valueOf(ceilSeconds(decision.resetNanos())));
+        response.setHeader(
+                RATE_LIMIT_POLICY_HEADER,
+                rateLimiter.getLimit() + ";w=" + rateLimiter.getPeriod().toSeconds());
+        if (decision.allowed()) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ceilSeconds(decision.retryAfterNanos())));
+        if (rejectedRequests != null) {
+            rejectedRequests.increment();
+        }
+        return false;
+    }
+
+    static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public enum KeyStrategy {
+        GLOBAL,
+        CLIENT,
+        ROUTE,
+        CLIENT_ROUTE;
+
+        String keyFor(HttpServletRequest request) {
+            return switch (this) {
+                case GLOBAL -> "*";
+                case CLIENT -> client(request);
+                case ROUTE -> route(request);
+                case CLIENT_ROUTE -> client(request) + '|' + route(request);
+            };
+        }
+
+        private static String client(HttpServletRequest request) {
+            final var clientId = request.getHeader(CLIENT_ID_HEADER);
+            return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+        }
+
+        private static String route(HttpServletRequest request) {
+            return request.getMethod()
+                    + ' '
+                    + Objects.requireNonNullElse(
+                            request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                            request.getRequestURI());
+        }
+    }
+}
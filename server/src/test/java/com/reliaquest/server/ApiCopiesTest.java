@@ -0,0 +1,54 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The server and the api each carry a copy of a few classes rather than sharing a module: the wire codings and the
+ * shard ring must agree between the two, but each application is built, formatted and deployed on its own, and a
+ * module for three small classes would tie their builds together. These tests fail when the copies drift apart in
+ * anything but package, imports, comments and formatting.
+ */
+class ApiCopiesTest {
+
+    private static final Path SERVER_SOURCES = Path.of("src/main/java/com/reliaquest/server");
+    private static final Path API_SOURCES = Path.of("../api/src/main/java/com/reliaquest/api");
+
+    @Test
+    void contentCoding_MatchesApiCopy() throws IOException {
+        assertSameCode(
+                SERVER_SOURCES.resolve("web/ContentCoding.java"), API_SOURCES.resolve("util/ContentCoding.java"));
+    }
+
+    @Test
+    void compressingResponse_MatchesApiCopy() throws IOException {
+        assertSameCode(
+                SERVER_SOURCES.resolve("web/CompressingResponse.java"),
+                API_SOURCES.resolve("web/CompressingResponse.java"));
+    }
+
+    @Test
+    void shardRing_MatchesApiCopy() throws IOException {
+        assertSameCode(SERVER_SOURCES.resolve("store/ShardRing.java"), API_SOURCES.resolve("client/ShardRing.java"));
+    }
+
+    private static void assertSameCode(Path server, Path api) throws IOException {
+        assertTrue(Files.isRegularFile(api), "api copy not found at " + api.toAbsolutePath());
+        assertEquals(code(api), code(server), server + " differs from " + api);
+    }
+
+    /*
+     * The source without its package and import declarations, comments and whitespace.
+     */
+    private static String code(Path source) throws IOException {
+        return Files.readString(source)
+                .replaceAll("(?s)/\\*.*?\\*/", "")
+                .replaceAll("(?m)^\\s*//.*$", "")
+                .replaceAll("(?m)^(package|import) [^;]+;", "")
+                .replaceAll("\\s+", "");
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ListMockEmployeeStoreTest {
+
+    @Test
+    void list_UnchangedByLaterWrites() {
+        final var jon = employee("Jon Doe");
+        final var jane = employee("Jane Smith");
+        final var store = new ListMockEmployeeStore(List.of(jon, jane));
+
+        final var listed = store.list();
+        int iterated = 0;
+        for (final var ignored : listed) {
+            store.add(employee("Employee " + iterated++));
+            store.removeById(jane.getId());
+        }
+
+        assertEquals(List.of(jon, jane), listed);
+        assertEquals(3, store.size());
+        assertThrows(UnsupportedOperationException.class, () -> listed.add(jane));
+    }
+
+    @Test
+    void replaceAll_SwapsEmployees() {
+        final var store = new ListMockEmployeeStore(List.of(employee("Jon Doe")));
+        final var listed = store.list();
+        final var replacements = List.of(employee("Jane Smith"), employee("Jonas Brown"));
+
+        store.replaceAll(replacements);
+
+        assertEquals(replacements, store.list());
+        assertEquals(1, listed.size());
+        assertEquals(
+                replacements.get(1), store.findById(replacements.get(1).getId()).orElseThrow());
+        assertEquals(replacements.get(0), store.removeByName("JANE SMITH").orElseThrow());
+        assertEquals(List.of(replacements.get(1)), store.list());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ReplicationEntry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ReplicationLogTest {
+
+    private final ListMockEmployeeStore mockEmployeeStore = new ListMockEmployeeStore(List.of());
+
+    private final ReplicationLog replicationLog = new ReplicationLog(mockEmployeeStore, 3);
+
+    @Test
+    void entriesAfter_NumbersMutationsInOrder() throws InterruptedException {
+        final var jon = employee("Jon Doe");
+        final var jane = employee("Jane Smith");
+        replicationLog.add(jon);
+        replicationLog.add(jane);
+        replicationLog.removeByName("JON DOE");
+
+        final var entries = entriesAfter(replicationLog.getIncarnation(), 0).orElseThrow();
+
+        assertEquals(3, replicationLog.getSequence());
+        assertEquals(
+                List.of(1L, 2L, 3L),
+                entries.stream().map(ReplicationEntry::sequence).toList());
+        assertEquals(
+                List.of(
+                        ReplicationEntry.Operation.CREATE,
+                        ReplicationEntry.Operation.CREATE,
+                        ReplicationEntry.Operation.DELETE),
+                entries.stream().map(ReplicationEntry::operation).toList());
+        assertEquals(jon, entries.get(2).employee());
+        assertEquals(List.of(3L), sequences(entriesAfter(replicationLog.getIncarnation(), 2)));
+        assertEquals(List.of(), sequences(entriesAfter(replicationLog.getIncarnation(), 3)));
+    }
+
+    @Test
+    void entriesAfter_EmptyOnceTruncated() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            replicationLog.add(employee("Employee " + i));
+        }
+        final var incarnation = replicationLog.getIncarnation();
+
+        assertTrue(entriesAfter(incarnation, 1).isEmpty());
+        assertEquals(List.of(3L, 4L, 5L), sequences(entriesAfter(incarnation, 2)));
+        assertEquals(List.of(5L), sequences(entriesAfter(incarnation, 4)));
+        assertTrue(entriesAfter(incarnation, 6).isEmpty());
+    }
+
+    @Test
+    void entriesAfter_EmptyForAnotherIncarnation() throws InterruptedException {
+        replicationLog.add(employee("Jon Doe"));
+
+        assertTrue(entriesAfter(UUID.randomUUID(), 0).isEmpty());
+        assertTrue(entriesAfter(new ReplicationLog(mockEmployeeStore, 3).getIncarnation(), 0)
+                .isEmpty());
+    }
+
+    @Test
+    void entriesAfter_WaitsForNextMutation() throws Exception {
+        final var incarnation = replicationLog.getIncarnation();
+        final var polled = CompletableFuture.supplyAsync(() -> {
+            try {
+                return replicationLog.entriesAfter(incarnation, 0, Duration.ofSeconds(10));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        Thread.sleep(50);
+        replicationLog.add(employee("Jon Doe"));
+
+        assertEquals(List.of(1L), sequences(polled.get(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void snapshot_ReplayedEntriesReproduceStore() throws InterruptedException {
+        replicationLog.add(employee("Jon Doe"));
+        replicationLog.add(employee("Jane Smith"));
+        final var snapshot = replicationLog.snapshot();
+        replicationLog.add(employee("Jonas Brown"));
+        replicationLog.removeByName("jane smith");
+
+        final var follower = new ListMockEmployeeStore(snapshot.employees());
+        for (final var entry :
+                entriesAfter(snapshot.incarnation(), snapshot.sequence()).orElseThrow()) {
+            switch (entry.operation()) {
+                case CREATE -> follower.add(entry.employee());
+                case DELETE -> follower.removeById(entry.employee().getId());
+            }
+        }
+
+        assertEquals(replicationLog.getIncarnation(), snapshot.incarnation());
+        assertEquals(2, snapshot.sequence());
+        assertEquals(mockEmployeeStore.list(), follower.list());
+    }
+
+    @Test
+    void removeById_OnlyWhenNameStillMatches() throws InterruptedException {
+        final var jon = employee("Jon Doe");
+        replicationLog.add(jon);
+
+        assertTrue(replicationLog.removeById(jon.getId(), "Jane Smith").isEmpty());
+        assertEquals(1, replicationLog.getSequence());
+        assertEquals(Optional.of(jon), replicationLog.removeById(jon.getId(), "jon doe"));
+        assertEquals(2, replicationLog.getSequence());
+        assertEquals(0, mockEmployeeStore.size());
+    }
+
+    @Test
+    void entriesAfter_NothingKeptWithoutCapacity() throws InterruptedException {
+        final var standalone = new ReplicationLog(mockEmployeeStore, 0);
+        standalone.add(employee("Jon Doe"));
+
+        assertEquals(1, standalone.getSequence());
+        assertTrue(standalone
+                .entriesAfter(standalone.getIncarnation(), 0, Duration.ZERO)
+                .isEmpty());
+        assertEquals(1, mockEmployeeStore.size());
+    }
+
+    private Optional<List<ReplicationEntry>> entriesAfter(UUID incarnation, long after) throws InterruptedException {
+        return replicationLog.entriesAfter(incarnation, after, Duration.ZERO);
+    }
+
+    private static List<Long> sequences(Optional<List<ReplicationEntry>> entries) {
+        return entries.orElseThrow().stream().map(ReplicationEntry::sequence).toList();
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .build();
+    }
+}
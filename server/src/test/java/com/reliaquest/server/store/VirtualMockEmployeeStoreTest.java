@@ -0,0 +1,99 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class VirtualMockEmployeeStoreTest {
+
+    private static final int BASE_SIZE = 200;
+
+    @Test
+    void findById_RoundTripsEveryIndex() {
+        final var store = new VirtualMockEmployeeStore(42L, BASE_SIZE);
+        final var listed = new ArrayList<>(store.list());
+
+        assertEquals(
+                BASE_SIZE, listed.stream().map(MockEmployee::getId).distinct().count());
+        for (final var employee : listed) {
+            assertEquals(employee, store.findById(employee.getId()).orElseThrow());
+        }
+        assertEquals(listed, new VirtualMockEmployeeStore(42L, BASE_SIZE).list());
+        assertTrue(store.findById(UUID.randomUUID()).isEmpty());
+        assertTrue(new VirtualMockEmployeeStore(43L, BASE_SIZE)
+                .findById(listed.get(0).getId())
+                .isEmpty());
+    }
+
+    @Test
+    void removeById_SkipsDeletedPositions() {
+        final var store = new VirtualMockEmployeeStore(42L, BASE_SIZE);
+        final var expected = new ArrayList<>(store.list());
+
+        for (final int index : new int[] {0, 7, 8, 9, 120, BASE_SIZE - 1}) {
+            final var employee = expected.get(index);
+            assertEquals(employee, store.removeById(employee.getId()).orElseThrow());
+            assertTrue(store.removeById(employee.getId()).isEmpty());
+            assertTrue(store.findById(employee.getId()).isEmpty());
+        }
+        expected.removeIf(employee -> store.findById(employee.getId()).isEmpty());
+
+        assertEquals(BASE_SIZE - 6, store.size());
+        assertEquals(expected, new ArrayList<>(store.list()));
+    }
+
+    @Test
+    void removeByName_DeletesBaseAndAddedEmployees() {
+        final var store = new VirtualMockEmployeeStore(42L, BASE_SIZE);
+        final var looked = store.findById(store.list().get(3).getId()).orElseThrow();
+        final var added =
+                MockEmployee.builder().id(UUID.randomUUID()).name("Jon Doe").build();
+        store.add(added);
+
+        assertEquals(looked, store.removeByName(looked.getName().toUpperCase()).orElseThrow());
+        assertEquals(added, store.removeByName("jon doe").orElseThrow());
+        assertTrue(store.removeByName("jon doe").isEmpty());
+        assertEquals(BASE_SIZE - 1, store.size());
+        assertFalse(store.list().contains(looked));
+    }
+
+    @Test
+    void removeByName_UsesNameIndexAfterCreatesAndDeletes() {
+        final var store = new VirtualMockEmployeeStore(42L, BASE_SIZE);
+        final List<MockEmployee> listed = new ArrayList<>(store.list());
+        store.add(MockEmployee.builder().id(UUID.randomUUID()).name("Jon Doe").build());
+        store.removeById(listed.get(10).getId());
+
+        final var unseen = listed.get(150);
+        assertEquals(unseen, store.removeByName(unseen.getName()).orElseThrow());
+        assertTrue(store.removeByName("No Such Employee").isEmpty());
+
+        listed.remove(150);
+        listed.remove(10);
+        assertEquals(BASE_SIZE - 1, store.size());
+        assertEquals(listed, new ArrayList<>(store.list().subList(0, BASE_SIZE - 2)));
+        assertEquals("Jon Doe", store.list().get(BASE_SIZE - 2).getName());
+    }
+
+    @Test
+    void toBaseIndex_CountsDeletesBeforePosition() {
+        final int[] removed = {0, 1, 4, 5, 6, 9};
+        final var expected = new ArrayList<Integer>();
+        for (int index = 0; index < 12; index++) {
+            final int candidate = index;
+            if (Arrays.stream(removed).noneMatch(value -> value == candidate)) {
+                expected.add(index);
+            }
+        }
+
+        for (int position = 0; position < expected.size(); position++) {
+            assertEquals(expected.get(position), VirtualMockEmployeeStore.toBaseIndex(removed, position));
+        }
+        assertEquals(3, VirtualMockEmployeeStore.toBaseIndex(new int[0], 3));
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.config.ResponseCompression;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerMapping;
+
+class CompressionFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ResponseCompression compression = new ResponseCompression();
+
+    private final CompressionFilter compressionFilter = new CompressionFilter(compression, meterRegistry);
+
+    @Test
+    void largeBodyCompressedWhileStreaming() throws Exception {
+        compression.setMinSize(DataSize.ofBytes(100));
+        byte[] body = "{\"employee_name\":\"John Doe\"},".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse response = execute("gzip", "application/json", body, 10);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(body, gunzip.readAllBytes());
+        }
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("mock.response.compression", "codec", "gzip", "outcome", "compressed")
+                        .count());
+    }
+
+    @Test
+    void smallBodySentAsIs() throws Exception {
+        MockHttpServletResponse response =
+                execute("gzip", "application/json", "298850".getBytes(StandardCharsets.UTF_8), 1);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(6, response.getContentLength());
+        assertEquals("298850", response.getContentAsString());
+    }
+
+    @Test
+    void endpointMinSizeOverridesDefault() throws Exception {
+        compression.setMinSize(DataSize.ofBytes(10));
+        compression.getEndpointMinSizes().put("GET /api/v1/employee/{id}", DataSize.ofKilobytes(4));
+
+        MockHttpServletResponse response = execute("gzip", "application/json", new byte[2048], 512);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(2048, response.getContentLength());
+    }
+
+    @Test
+    void otherTypesAndUnacceptedCodingsSentAsIs() throws Exception {
+        compression.setMinSize(DataSize.ofBytes(10));
+
+        assertNull(execute("gzip", "image/png", new byte[2048], 512).getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(execute("br", "application/json", new byte[2048], 512).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void uncompressedStreamReleasedOnFlush() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee/events");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        compressionFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("text/event-stream");
+                resp.getOutputStream().flush();
+                resp.flushBuffer();
+                assertTrue(response.isCommitted());
+
+                resp.getOutputStream().write("data:1\n\n".getBytes(StandardCharsets.UTF_8));
+                resp.getOutputStream().flush();
+                assertEquals("data:1\n\n", response.getContentAsString());
+            }
+        }));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private MockHttpServletResponse execute(String acceptEncoding, String contentType, byte[] body, int chunkSize)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/employee/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        compressionFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                OutputStream out = resp.getOutputStream();
+                for (int offset = 0; offset < body.length; offset += chunkSize) {
+                    out.write(body, offset, Math.min(chunkSize, body.length - offset));
+                }
+                out.flush();
+            }
+        }));
+        return response;
+    }
+}
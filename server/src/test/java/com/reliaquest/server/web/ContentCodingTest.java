@@ -0,0 +1,49 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ContentCodingTest {
+
+    private static final List<ContentCoding> PREFERRED = List.of(ContentCoding.ZSTD, ContentCoding.GZIP);
+
+    @Test
+    void negotiate_FirstPreferredCodingTheCallerAccepts() {
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("gzip, deflate, br, zstd", PREFERRED));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("gzip, deflate, br", PREFERRED));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("zstd;q=0, *", PREFERRED));
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("*;q=0.1", PREFERRED));
+        assertNull(ContentCoding.negotiate("identity", PREFERRED));
+        assertNull(ContentCoding.negotiate(null, PREFERRED));
+        assertNull(ContentCoding.negotiate("zstd", List.of(ContentCoding.GZIP)));
+    }
+
+    @Test
+    void encodeDecode_RoundTrips() throws IOException {
+        byte[] json = "[{\"employee_name\":\"John Doe\"}]".repeat(200).getBytes(StandardCharsets.UTF_8);
+        for (ContentCoding coding : ContentCoding.values()) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            OutputStream encoder = coding.encode(compressed, 1);
+            encoder.write(json);
+            encoder.close();
+            compressed.write('!');
+
+            byte[] encoded = compressed.toByteArray();
+            assertEquals('!', encoded[encoded.length - 1], coding + " closed the underlying stream");
+            assertTrue(encoded.length < json.length / 10, coding.token());
+            try (InputStream decoder = coding.decode(new ByteArrayInputStream(encoded, 0, encoded.length - 1))) {
+                assertArrayEquals(json, decoder.readAllBytes(), coding.token());
+            }
+        }
+        assertEquals(ContentCoding.GZIP, ContentCoding.fromToken("GZIP"));
+        assertNull(ContentCoding.fromToken("br"));
+    }
+}
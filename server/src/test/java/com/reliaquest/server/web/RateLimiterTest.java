@@ -0,0 +1,148 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    private final RateLimiter rateLimiter = new RateLimiter(10, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void tryAcquire_AllowsBurstThenRejects() {
+        for (int i = 9; i >= 0; i--) {
+            final var decision = rateLimiter.tryAcquire("client");
+            assertTrue(decision.allowed());
+            assertEquals(i, decision.remaining());
+        }
+
+        final var rejected = rateLimiter.tryAcquire("client");
+
+        assertFalse(rejected.allowed());
+        assertEquals(3 * SECOND, rejected.retryAfterNanos());
+        assertEquals(30 * SECOND, rejected.resetNanos());
+        assertTrue(rateLimiter.tryAcquire("other").allowed());
+    }
+
+    @Test
+    void tryAcquire_AllowsOneRequestPerEmissionInterval() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("client");
+        }
+
+        for (int i = 0; i < 20; i++) {
+            now.addAndGet(3 * SECOND - 1);
+            assertFalse(rateLimiter.tryAcquire("client").allowed());
+            now.incrementAndGet();
+            assertTrue(rateLimiter.tryAcquire("client").allowed());
+            assertFalse(rateLimiter.tryAcquire("client").allowed());
+        }
+    }
+
+    @Test
+    void tryAcquire_FullBurstAfterPeriod() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("client");
+        }
+
+        now.addAndGet(30 * SECOND);
+
+        assertEquals(9, rateLimiter.tryAcquire("client").remaining());
+    }
+
+    @Test
+    void tryAcquire_SweepsIdleKeysOncePerPeriod() {
+        for (int i = 0; i <= RateLimiter.SWEEP_THRESHOLD; i++) {
+            rateLimiter.tryAcquire("client-" + i);
+        }
+        assertEquals(RateLimiter.SWEEP_THRESHOLD + 1, rateLimiter.trackedKeys());
+
+        now.addAndGet(30 * SECOND);
+        rateLimiter.tryAcquire("late");
+        assertEquals(1, rateLimiter.trackedKeys());
+
+        for (int i = 0; i <= RateLimiter.SWEEP_THRESHOLD; i++) {
+            rateLimiter.tryAcquire("again-" + i);
+        }
+        now.addAndGet(29 * SECOND);
+        rateLimiter.tryAcquire("before-next-sweep");
+        assertEquals(RateLimiter.SWEEP_THRESHOLD + 3, rateLimiter.trackedKeys());
+
+        now.addAndGet(SECOND);
+        rateLimiter.tryAcquire("after-next-sweep");
+        assertEquals(2, rateLimiter.trackedKeys());
+    }
+
+    @Test
+    void tryAcquire_SweepDuringAcquisitionKeepsBudget() throws Exception {
+        final var paused = new CountDownLatch(1);
+        final var resume = new CountDownLatch(1);
+        final var limiter = new RateLimiter(10, Duration.ofSeconds(30), () -> {
+            if (Thread.currentThread().getName().equals("paused-acquirer") && paused.getCount() > 0) {
+                paused.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return now.get();
+        });
+        for (int i = 0; i <= RateLimiter.SWEEP_THRESHOLD; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+        limiter.tryAcquire("client");
+        now.addAndGet(30 * SECOND);
+        final var pausedDecision = new CompletableFuture<RateLimiter.Decision>();
+        final var acquirer = new Thread(() -> pausedDecision.complete(limiter.tryAcquire("client")), "paused-acquirer");
+        acquirer.start();
+        assertTrue(paused.await(10, TimeUnit.SECONDS));
+
+        limiter.tryAcquire("sweeper");
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            allowed += limiter.tryAcquire("client").allowed() ? 1 : 0;
+        }
+        resume.countDown();
+
+        assertEquals(10, allowed);
+        assertFalse(pausedDecision.get(10, TimeUnit.SECONDS).allowed());
+        acquirer.join();
+    }
+
+    @Test
+    void preHandle_RejectsWithRetryAfter() {
+        final var interceptor = new RequestLimitInterceptor(rateLimiter, RequestLimitInterceptor.KeyStrategy.CLIENT);
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader(RequestLimitInterceptor.CLIENT_ID_HEADER, "client");
+        for (int i = 0; i < 10; i++) {
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+        }
+        now.addAndGet(SECOND / 2);
+
+        final var response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals(429, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertEquals("0", response.getHeader(RequestLimitInterceptor.RATE_LIMIT_REMAINING_HEADER));
+        assertEquals("30", response.getHeader(RequestLimitInterceptor.RATE_LIMIT_RESET_HEADER));
+    }
+
+    @Test
+    void constructor_RejectsEmptyLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, Duration.ofSeconds(30)));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(10, Duration.ZERO));
+    }
+}